@@ -13,6 +13,9 @@ import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import tk.shanebee.bee.api.NBTApi;
 import tk.shanebee.bee.api.listener.BoundBorderListener;
+import tk.shanebee.bee.api.listener.BoundJournalListener;
+import tk.shanebee.bee.api.listener.BoundProtectionListener;
+import tk.shanebee.bee.api.listener.BoundWorldListener;
 import tk.shanebee.bee.api.listener.EntityListener;
 import tk.shanebee.bee.api.util.LoggerBee;
 import tk.shanebee.bee.api.util.Util;
@@ -20,6 +23,10 @@ import tk.shanebee.bee.config.Config;
 import tk.shanebee.bee.elements.board.listener.PlayerBoardListener;
 import tk.shanebee.bee.elements.bound.config.BoundConfig;
 import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BlockChangeTask;
+import tk.shanebee.bee.elements.bound.util.BoundChunkLoader;
+import tk.shanebee.bee.elements.bound.util.BoundEntityTracker;
+import tk.shanebee.bee.elements.bound.util.BoundScanner;
 import tk.shanebee.bee.elements.virtualfurnace.listener.VirtualFurnaceListener;
 import tk.shanebee.bee.metrics.Metrics;
 
@@ -39,6 +46,7 @@ public class SkBee extends JavaPlugin {
     private PluginManager pm;
     private Config config;
     private BoundConfig boundConfig = null;
+    private BoundBorderListener boundBorderListener = null;
     private SkriptAddon addon;
     private VirtualFurnaceAPI virtualFurnaceAPI;
 
@@ -150,7 +158,11 @@ public class SkBee extends JavaPlugin {
         }
         try {
             this.boundConfig = new BoundConfig(this);
-            pm.registerEvents(new BoundBorderListener(this), this);
+            this.boundBorderListener = new BoundBorderListener(this);
+            pm.registerEvents(this.boundBorderListener, this);
+            pm.registerEvents(new BoundJournalListener(this), this);
+            pm.registerEvents(new BoundProtectionListener(this), this);
+            pm.registerEvents(new BoundWorldListener(this), this);
             addon.loadClasses("tk.shanebee.bee.elements.bound");
             Util.log("&5Bound Elements &asuccessfully loaded");
         } catch (IOException ex) {
@@ -260,6 +272,13 @@ public class SkBee extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (this.boundConfig != null) {
+            this.boundConfig.saveAllBoundsNow();
+            BoundScanner.shutdown();
+            BlockChangeTask.cancelAll();
+            BoundEntityTracker.stopAll();
+            BoundChunkLoader.releaseAll();
+        }
         if (this.virtualFurnaceAPI != null) {
             this.virtualFurnaceAPI.disableAPI();
         }
@@ -292,6 +311,15 @@ public class SkBee extends JavaPlugin {
         return this.boundConfig;
     }
 
+    /**
+     * Get an instance of the {@link BoundBorderListener}
+     *
+     * @return Instance of bound border listener
+     */
+    public BoundBorderListener getBoundBorderListener() {
+        return this.boundBorderListener;
+    }
+
     /**
      * Get an instance of the {@link NBTApi}
      *
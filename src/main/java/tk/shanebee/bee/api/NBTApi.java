@@ -18,7 +18,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -26,6 +28,21 @@ import java.util.UUID;
  */
 public class NBTApi {
 
+    /**
+     * Max amount of parsed NBT strings kept in the cache
+     */
+    private static final int CACHE_SIZE = 256;
+    /**
+     * Recently parsed NBT strings, in least recently used order
+     * <p>Compounds in this cache are shared, and must never be modified or handed out directly.</p>
+     */
+    private static final Map<String, NBTContainer> PARSED_CACHE = new LinkedHashMap<String, NBTContainer>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NBTContainer> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     private final Config CONFIG;
 
     public NBTApi() {
@@ -39,14 +56,84 @@ public class NBTApi {
      * @return True if NBT string is valid, otherwise false
      */
     public static boolean validateNBT(String nbtString) {
-        if (nbtString == null) return false;
+        return getParsedNBT(nbtString) != null;
+    }
+
+    /**
+     * Parse an NBT string into a new {@link NBTCompound}
+     * <p>Parsed strings are cached, so parsing the same string again only copies the cached compound.</p>
+     *
+     * @param nbtString NBT string to parse
+     * @return New compound from the NBT string, or null if the NBT string is invalid
+     */
+    @Nullable
+    public static NBTCompound parseNBT(String nbtString) {
+        NBTCompound parsed = getParsedNBT(nbtString);
+        if (parsed == null) return null;
+        return copyNBT(parsed);
+    }
+
+    /**
+     * Copy an {@link NBTCompound} into a new compound
+     *
+     * @param compound Compound to copy
+     * @return New compound with the same tags
+     */
+    public static NBTCompound copyNBT(@NotNull NBTCompound compound) {
+        NBTContainer copy = new NBTContainer();
+        copy.mergeCompound(compound);
+        return copy;
+    }
+
+    /**
+     * Compile a tag path, such as "tag;display;Name", for reading tags of compounds
+     * <p>Compile a path once and reuse it, rather than splitting it on every read.</p>
+     *
+     * @param path Tag path, with nested tags separated by a semi colon
+     * @return Compiled tag path
+     */
+    public static TagPath compileTagPath(@NotNull String path) {
+        return new TagPath(path);
+    }
+
+    /**
+     * Get an {@link NBTCompound} from an NBT string or compound
+     *
+     * @param nbt NBT string or compound
+     * @return Compound from the NBT string, the compound itself, or null if the NBT string is invalid
+     */
+    @Nullable
+    public static NBTCompound getNBTCompound(Object nbt) {
+        if (nbt instanceof NBTCompound) return (NBTCompound) nbt;
+        if (nbt instanceof String) return parseNBT((String) nbt);
+        return null;
+    }
+
+    /**
+     * Get the cached compound of an NBT string, parsing it if not cached yet
+     * <p>The returned compound is shared, it may only be read or merged into other compounds.</p>
+     *
+     * @param nbtString NBT string to parse
+     * @return Shared compound of the NBT string, or null if the NBT string is invalid
+     */
+    @Nullable
+    private static NBTCompound getParsedNBT(String nbtString) {
+        if (nbtString == null) return null;
+        synchronized (PARSED_CACHE) {
+            NBTContainer cached = PARSED_CACHE.get(nbtString);
+            if (cached != null) return cached;
+        }
+        NBTContainer container;
         try {
-            new NBTContainer(nbtString);
+            container = new NBTContainer(nbtString);
         } catch (Exception ex) {
             sendError(nbtString, ex);
-            return false;
+            return null;
         }
-        return true;
+        synchronized (PARSED_CACHE) {
+            PARSED_CACHE.put(nbtString, container);
+        }
+        return container;
     }
 
     private static void sendError(String error, Exception exception) {
@@ -92,7 +179,24 @@ public class NBTApi {
     public Object addNBT(@NotNull Object object, @NotNull String value, @NotNull ObjectType type) {
         if (!type.isAssignableFrom(object, CONFIG.SETTINGS_DEBUG))
             return null;
-        if (!validateNBT(value)) return null;
+        NBTCompound compound = getParsedNBT(value);
+        if (compound == null) return null;
+        return addNBT(object, compound, type);
+    }
+
+    /**
+     * Add NBT to an object.
+     * <p>The compound is merged into the object, and is not modified.</p>
+     *
+     * @param object Object to add NBT to
+     * @param value  NBT compound to add to object
+     * @param type   Type of object
+     * @return Object with the new NBT value
+     */
+    @Nullable
+    public Object addNBT(@NotNull Object object, @NotNull NBTCompound value, @NotNull ObjectType type) {
+        if (!type.isAssignableFrom(object, CONFIG.SETTINGS_DEBUG))
+            return null;
         switch (type) {
             case FILE:
                 File file = getFile(((String) object));
@@ -100,7 +204,7 @@ public class NBTApi {
 
                 try {
                     NBTFile nbtFile = new NBTFile(file);
-                    nbtFile.mergeCompound(new NBTContainer(value));
+                    nbtFile.mergeCompound(value);
                     nbtFile.save();
                 } catch (IOException e) {
                     e.printStackTrace();
@@ -109,7 +213,7 @@ public class NBTApi {
             case ITEM_STACK:
                 ItemStack itemStack = (ItemStack) object;
                 NBTItem item = new NBTItem(itemStack);
-                item.mergeCompound(new NBTContainer(value));
+                item.mergeCompound(value);
                 itemStack.setItemMeta(item.getItem().getItemMeta());
                 return item.getItem();
             case ITEM_TYPE:
@@ -117,7 +221,7 @@ public class NBTApi {
                 if (stack == null) return null;
 
                 NBTItem nbtItemType = new NBTItem(stack);
-                nbtItemType.mergeCompound(new NBTContainer(value));
+                nbtItemType.mergeCompound(value);
                 SkReflection.setMeta((ItemType) object, nbtItemType.getItem().getItemMeta());
                 return object;
             case SLOT:
@@ -128,12 +232,12 @@ public class NBTApi {
                 return object;
             case ENTITY:
                 NBTEntity nbtEntity = new NBTEntity(((Entity) object));
-                nbtEntity.mergeCompound(new NBTContainer(value));
+                nbtEntity.mergeCompound(value);
                 return object;
             case BLOCK:
                 NBTTileEntity tile = new NBTTileEntity(((Block) object).getState());
                 try {
-                    tile.mergeCompound(new NBTContainer(value));
+                    tile.mergeCompound(value);
                 } catch (NbtApiException ignore) {
                 }
                 return object;
@@ -156,20 +260,37 @@ public class NBTApi {
     public Object setNBT(@NotNull Object object, @NotNull String value, @NotNull ObjectType type) {
         if (!type.isAssignableFrom(object, CONFIG.SETTINGS_DEBUG))
             return null;
-        if (!validateNBT(value)) return null;
+        NBTCompound compound = getParsedNBT(value);
+        if (compound == null) return null;
+        return setNBT(object, compound, type);
+    }
+
+    /**
+     * Set NBT for an object.
+     * <p>The compound is merged into the object, and is not modified.</p>
+     *
+     * @param object Object to set NBT for
+     * @param value  NBT compound to set to object
+     * @param type   Type of object
+     * @return Object with the new NBT value
+     */
+    @Nullable
+    public Object setNBT(@NotNull Object object, @NotNull NBTCompound value, @NotNull ObjectType type) {
+        if (!type.isAssignableFrom(object, CONFIG.SETTINGS_DEBUG))
+            return null;
         switch (type) {
             case FILE:
                 return addNBT(object, value, ObjectType.FILE);
             case ITEM_STACK:
                 ItemStack stack = new ItemStack(((ItemStack) object).getType());
                 NBTItem nbtItemStack = new NBTItem(stack);
-                nbtItemStack.mergeCompound(new NBTContainer(value));
+                nbtItemStack.mergeCompound(value);
                 ((ItemStack) object).setItemMeta(nbtItemStack.getItem().getItemMeta());
                 return object;
             case ITEM_TYPE:
                 ItemStack itemStack = new ItemStack(((ItemType) object).getMaterial());
                 NBTItem nbtItemType = new NBTItem(itemStack);
-                nbtItemType.mergeCompound(new NBTContainer(value));
+                nbtItemType.mergeCompound(value);
                 SkReflection.setMeta((ItemType) object, nbtItemType.getItem().getItemMeta());
                 return object;
             case SLOT:
@@ -254,6 +375,112 @@ public class NBTApi {
         return null;
     }
 
+    /**
+     * Get a snapshot of the NBT of an object as an {@link NBTCompound}
+     * <p>The NBT is fetched from the object once, changes to the snapshot do not change the object.</p>
+     *
+     * @param object Object to get NBT from
+     * @param type   Type of object
+     * @return Snapshot of the NBT of object
+     */
+    @Nullable
+    public NBTCompound getNBTCompound(@NotNull Object object, @NotNull ObjectType type) {
+        if (!type.isAssignableFrom(object, CONFIG.SETTINGS_DEBUG))
+            return null;
+        switch (type) {
+            case FILE:
+                File file = getFile(((String) object));
+                if (file == null) return null;
+                try {
+                    return new NBTFile(file);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                return null;
+            case ITEM_STACK:
+                ItemStack itemStack = (ItemStack) object;
+                if (itemStack.getType() == Material.AIR) return null;
+                return copyNBT(new NBTItem(itemStack));
+            case ITEM_TYPE:
+                ItemStack itemTypeStack = ((ItemType) object).getRandom();
+                if (itemTypeStack == null) return null;
+                return getNBTCompound(itemTypeStack, ObjectType.ITEM_STACK);
+            case SLOT:
+                ItemStack slotItemStack = ((Slot) object).getItem();
+                if (slotItemStack == null) return null;
+                return getNBTCompound(slotItemStack, ObjectType.ITEM_STACK);
+            case ENTITY:
+                Entity entity = (Entity) object;
+                if (entity.isDead()) return null;
+                return copyNBT(new NBTEntity(entity));
+            case BLOCK:
+                try {
+                    return copyNBT(new NBTTileEntity(((Block) object).getState()));
+                } catch (NbtApiException ignore) {
+                    return null;
+                }
+            default:
+                if (CONFIG.SETTINGS_DEBUG)
+                    throw new IllegalArgumentException("Unsupported ObjectType: " + type);
+        }
+        return null;
+    }
+
+    /**
+     * Get multiple tags from the NBT of an object
+     * <p>The NBT of the object is only fetched once for all tags.</p>
+     *
+     * @param object Object to get tags from
+     * @param type   Type of object
+     * @param tags   Tags to get, nested tags separated by a semi colon
+     * @return Values of tags, in the same order as the tags (null for tags which do not exist),
+     * or null if the object has no NBT
+     */
+    @Nullable
+    public Object[] getTags(@NotNull Object object, @NotNull ObjectType type, @NotNull String... tags) {
+        NBTCompound compound = getNBTCompound(object, type);
+        if (compound == null) return null;
+        TagPath[] paths = new TagPath[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            paths[i] = compileTagPath(tags[i]);
+        }
+        return getTags(paths, compound);
+    }
+
+    /**
+     * Get multiple tags from an {@link NBTCompound}
+     *
+     * @param paths    Compiled paths of tags to get
+     * @param compound Compound to grab tags from
+     * @return Values of tags, in the same order as the paths (null for tags which do not exist)
+     */
+    public Object[] getTags(@NotNull TagPath[] paths, @NotNull NBTCompound compound) {
+        Object[] values = new Object[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = getTag(paths[i], compound);
+        }
+        return values;
+    }
+
+    /**
+     * Set multiple tags of the NBT of an object
+     * <p>The NBT of the object is fetched once, all tags are set, then it is merged back into the object once.</p>
+     *
+     * @param object Object to set tags for
+     * @param type   Type of object
+     * @param tags   Tags to set, nested tags separated by a semi colon
+     * @param values Values of tags, in the same order as the tags
+     */
+    public void setTags(@NotNull Object object, @NotNull ObjectType type, @NotNull String[] tags, @NotNull Object[][] values) {
+        NBTCompound compound = getNBTCompound(object, type);
+        if (compound == null) return;
+        for (int i = 0; i < tags.length && i < values.length; i++) {
+            if (values[i] == null || values[i].length == 0) continue;
+            setTag(tags[i], compound, values[i]);
+        }
+        addNBT(object, compound, type);
+    }
+
     /**
      * Get an {@link ItemType} from an NBT string
      *
@@ -272,9 +499,9 @@ public class NBTApi {
      * @return New ItemStack from NBT string
      */
     public ItemStack getItemStackFromNBT(String nbt) {
-        if (!validateNBT(nbt)) return null;
-        NBTContainer container = new NBTContainer(nbt);
-        return NBTItem.convertNBTtoItem(container);
+        NBTCompound compound = getParsedNBT(nbt);
+        if (compound == null) return null;
+        return NBTItem.convertNBTtoItem(compound);
     }
 
     /**
@@ -430,8 +657,35 @@ public class NBTApi {
      * @return Object from the NBT string
      */
     public Object getTag(String tag, String nbt) {
-        if (nbt == null) return null;
-        NBTCompound compound = new NBTContainer(nbt);
+        NBTCompound compound = parseNBT(nbt);
+        if (compound == null) return null;
+        return getTag(tag, compound);
+    }
+
+    /**
+     * Get a specific tag from an {@link NBTCompound} using a compiled tag path
+     * <p>The compound is navigated directly, nested compounds returned are live views of the given compound.</p>
+     *
+     * @param path     Compiled path of tag to get
+     * @param compound Compound to grab tag from
+     * @return Object from the compound, or null if the path does not exist
+     */
+    @Nullable
+    public Object getTag(@NotNull TagPath path, @NotNull NBTCompound compound) {
+        NBTCompound parent = path.getParent(compound);
+        if (parent == null) return null;
+        return getTag(path.getKey(), parent);
+    }
+
+    /**
+     * Get a specific tag from an {@link NBTCompound}
+     * <p>The tag is read directly from the compound, nested compounds returned are live views of the given compound.</p>
+     *
+     * @param tag      Tag to check for
+     * @param compound Compound to grab tag from
+     * @return Object from the compound
+     */
+    public Object getTag(@NotNull String tag, @NotNull NBTCompound compound) {
         NBTType type = compound.getType(tag);
         switch (type) {
             case NBTTagString:
@@ -464,12 +718,30 @@ public class NBTApi {
                 return compound.getCompound(tag);
             case NBTTagList:
                 List<Object> list = new ArrayList<>();
-                list.addAll(compound.getCompoundList(tag));
-                list.addAll(compound.getDoubleList(tag));
-                list.addAll(compound.getFloatList(tag));
-                list.addAll(compound.getIntegerList(tag));
-                list.addAll(compound.getStringList(tag));
-                list.addAll(compound.getLongList(tag));
+                NBTType listType = compound.getListType(tag);
+                if (listType == null) return list;
+                switch (listType) {
+                    case NBTTagCompound:
+                        list.addAll(compound.getCompoundList(tag));
+                        break;
+                    case NBTTagDouble:
+                        list.addAll(compound.getDoubleList(tag));
+                        break;
+                    case NBTTagFloat:
+                        list.addAll(compound.getFloatList(tag));
+                        break;
+                    case NBTTagInt:
+                        list.addAll(compound.getIntegerList(tag));
+                        break;
+                    case NBTTagString:
+                        list.addAll(compound.getStringList(tag));
+                        break;
+                    case NBTTagLong:
+                        list.addAll(compound.getLongList(tag));
+                        break;
+                    default:
+                        // Empty list, or a list type without a typed getter
+                }
                 return list;
             default:
                 if (CONFIG.SETTINGS_DEBUG)
@@ -478,6 +750,57 @@ public class NBTApi {
         return null;
     }
 
+    /**
+     * Compiled path of a tag, with nested tags separated by a semi colon
+     * <p>Use {@link #compileTagPath(String)} to create a path.</p>
+     */
+    public static class TagPath {
+
+        private final String path;
+        private final String[] parents;
+        private final String key;
+
+        private TagPath(String path) {
+            this.path = path;
+            String[] split = path.split(";");
+            if (split.length == 0) split = new String[]{path};
+            this.parents = new String[split.length - 1];
+            System.arraycopy(split, 0, this.parents, 0, this.parents.length);
+            this.key = split[split.length - 1];
+        }
+
+        /**
+         * Get the compound which holds the last tag of this path
+         *
+         * @param compound Compound to navigate
+         * @return Compound holding the last tag, or null if any parent is not a compound
+         */
+        @Nullable
+        public NBTCompound getParent(@NotNull NBTCompound compound) {
+            NBTCompound parent = compound;
+            for (String tag : parents) {
+                if (parent.getType(tag) != NBTType.NBTTagCompound) return null;
+                parent = parent.getCompound(tag);
+            }
+            return parent;
+        }
+
+        /**
+         * Get the last tag of this path
+         *
+         * @return Last tag of this path
+         */
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return path;
+        }
+
+    }
+
     /**
      * Type of object used for getting/setting/adding NBT
      */
@@ -0,0 +1,48 @@
+package tk.shanebee.bee.api.event;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+/**
+ * Called when a non-player entity exits a bound which has entity tracking enabled
+ * <p>Entities are sampled periodically, so this is called shortly after the entity exited the bound</p>
+ */
+public class EntityExitBoundEvent extends Event {
+
+    private static final HandlerList handlers = new HandlerList();
+    private final Bound bound;
+    private final Entity entity;
+
+    public EntityExitBoundEvent(Bound bound, Entity entity) {
+        this.bound = bound;
+        this.entity = entity;
+    }
+
+    /** The entity that exited the bound
+     * @return Entity that exited the bound
+     */
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /** The bound that was exited
+     * @return Bound that was exited
+     */
+    public Bound getBound() {
+        return bound;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    @SuppressWarnings("unused")
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
+}
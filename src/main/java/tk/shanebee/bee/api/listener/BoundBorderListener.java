@@ -2,48 +2,233 @@ package tk.shanebee.bee.api.listener;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import tk.shanebee.bee.SkBee;
 import tk.shanebee.bee.api.event.EnterBoundEvent;
 import tk.shanebee.bee.api.event.ExitBoundEvent;
 import tk.shanebee.bee.elements.bound.config.BoundConfig;
 import tk.shanebee.bee.elements.bound.objects.Bound;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 public class BoundBorderListener implements Listener {
 
+    private static final long NOT_INSIDE = Long.MIN_VALUE;
+
     private final BoundConfig boundConfig;
+    private final Map<UUID, Set<String>> playerBounds = new HashMap<>();
+    private final Map<UUID, Map<String, DwellTime>> dwellTimes = new HashMap<>();
 
     public BoundBorderListener(SkBee plugin) {
         this.boundConfig = plugin.getBoundConfig();
     }
 
-    @EventHandler
+    // Moves cancelled by other plugins never happen, so they must not change the cached bounds
+    @EventHandler(ignoreCancelled = true)
     private void onBoundBorder(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
         Location from = event.getFrom();
         Location to = event.getTo();
-        if (to == null || to.equals(from)) {
+        if (to == null || isSameBlock(from, to)) {
             return;
         }
-        for (Bound bound : boundConfig.getBounds()) {
-            if (bound.isInRegion(to) && !bound.isInRegion(from)) {
-                EnterBoundEvent enterEvent = new EnterBoundEvent(bound, player);
-                Bukkit.getPluginManager().callEvent(enterEvent);
-                if (enterEvent.isCancelled()) {
-                    player.teleport(from);
-                }
+        Player player = event.getPlayer();
+        Set<String> previous = playerBounds.get(player.getUniqueId());
+        if (previous == null) {
+            previous = getBoundIdsAt(from);
+        }
+        Set<String> current = getBoundIdsAt(to);
+
+        boolean cancelled = false;
+        for (String id : current) {
+            if (previous.contains(id)) continue;
+            Bound bound = boundConfig.getBoundFromID(id);
+            EnterBoundEvent enterEvent = new EnterBoundEvent(bound, player);
+            Bukkit.getPluginManager().callEvent(enterEvent);
+            if (enterEvent.isCancelled()) {
+                cancelled = true;
+            }
+        }
+        for (String id : previous) {
+            if (current.contains(id)) continue;
+            Bound bound = boundConfig.getBoundFromID(id);
+            // Bound may have been deleted since the player entered it
+            if (bound == null) continue;
+            ExitBoundEvent exitEvent = new ExitBoundEvent(bound, player);
+            Bukkit.getPluginManager().callEvent(exitEvent);
+            if (exitEvent.isCancelled()) {
+                cancelled = true;
+            }
+        }
+
+        if (cancelled) {
+            setBoundIds(player, previous);
+            player.teleport(from);
+        } else {
+            setBoundIds(player, current);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onTeleport(PlayerTeleportEvent event) {
+        Location to = event.getTo();
+        if (to == null) return;
+        setBoundIds(event.getPlayer(), getBoundIdsAt(to));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onRespawn(PlayerRespawnEvent event) {
+        setBoundIds(event.getPlayer(), getBoundIdsAt(event.getRespawnLocation()));
+    }
+
+    @EventHandler
+    private void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        setBoundIds(player, getBoundIdsAt(player.getLocation()));
+    }
+
+    @EventHandler
+    private void onQuit(PlayerQuitEvent event) {
+        // Dwell times are kept, only the time spent so far is counted
+        setBoundIds(event.getPlayer(), Collections.emptySet());
+        playerBounds.remove(event.getPlayer().getUniqueId());
+    }
+
+    // Store the bounds a player is in, starting/stopping dwell time of bounds entered/exited
+    private void setBoundIds(Player player, Set<String> current) {
+        UUID uuid = player.getUniqueId();
+        Set<String> previous = playerBounds.getOrDefault(uuid, Collections.emptySet());
+        if (previous != current) {
+            long now = now();
+            Map<String, DwellTime> times = null;
+            for (String id : current) {
+                if (previous.contains(id)) continue;
+                if (times == null) times = dwellTimes.computeIfAbsent(uuid, k -> new HashMap<>());
+                times.computeIfAbsent(id, k -> new DwellTime()).enteredAt = now;
             }
-            if (!bound.isInRegion(to) && bound.isInRegion(from)) {
-                ExitBoundEvent exitEvent = new ExitBoundEvent(bound, player);
-                Bukkit.getPluginManager().callEvent(exitEvent);
-                if (exitEvent.isCancelled()) {
-                    player.teleport(from);
+            for (String id : previous) {
+                if (current.contains(id)) continue;
+                if (times == null) times = dwellTimes.get(uuid);
+                DwellTime time = times != null ? times.get(id) : null;
+                if (time != null && time.enteredAt != NOT_INSIDE) {
+                    time.total += now - time.enteredAt;
+                    time.enteredAt = NOT_INSIDE;
                 }
             }
         }
+        playerBounds.put(uuid, current);
+    }
+
+    /**
+     * Get the total time a player has spent in a bound
+     * <p>This includes the time spent so far if the player is currently in the bound.
+     * Times are kept in memory until reset, and are not saved across restarts.</p>
+     *
+     * @param player  Player to get time for
+     * @param boundId ID of bound
+     * @return Time spent in bound in milliseconds
+     */
+    public long getDwellTime(OfflinePlayer player, String boundId) {
+        Map<String, DwellTime> times = dwellTimes.get(player.getUniqueId());
+        if (times == null) return 0;
+        DwellTime time = times.get(boundId);
+        if (time == null) return 0;
+        if (boundConfig.getBoundFromID(boundId) == null) {
+            // Bound no longer exists, drop its leftover time
+            times.remove(boundId);
+            if (times.isEmpty()) dwellTimes.remove(player.getUniqueId());
+            return 0;
+        }
+        if (time.enteredAt == NOT_INSIDE) return time.total;
+        return time.total + (now() - time.enteredAt);
+    }
+
+    /**
+     * Reset the time a player has spent in a bound
+     * <p>If the player is currently in the bound, counting restarts from now</p>
+     *
+     * @param player  Player to reset time for
+     * @param boundId ID of bound
+     */
+    public void resetDwellTime(OfflinePlayer player, String boundId) {
+        Map<String, DwellTime> times = dwellTimes.get(player.getUniqueId());
+        if (times == null) return;
+        DwellTime time = times.get(boundId);
+        if (time == null) return;
+        if (time.enteredAt == NOT_INSIDE) {
+            times.remove(boundId);
+            if (times.isEmpty()) dwellTimes.remove(player.getUniqueId());
+        } else {
+            time.total = 0;
+            time.enteredAt = now();
+        }
+    }
+
+    /**
+     * Forget a deleted bound
+     * <p>The bound is removed from the cached bounds of all players and its dwell times are discarded.</p>
+     *
+     * @param boundId ID of bound which was deleted
+     */
+    public void removeBound(String boundId) {
+        for (Set<String> ids : playerBounds.values()) {
+            ids.remove(boundId);
+        }
+        dwellTimes.values().removeIf(times -> {
+            times.remove(boundId);
+            return times.isEmpty();
+        });
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1000000L;
+    }
+
+    /**
+     * Get the IDs of all bounds a player is currently in
+     * <p>This is the cached set maintained by player movement, no bounds are checked.</p>
+     *
+     * @param player Player to get bounds for
+     * @return Unmodifiable set of IDs of bounds the player is in
+     */
+    public Set<String> getBoundIds(Player player) {
+        Set<String> ids = playerBounds.get(player.getUniqueId());
+        if (ids == null) return Collections.emptySet();
+        return Collections.unmodifiableSet(ids);
+    }
+
+    private Set<String> getBoundIdsAt(Location location) {
+        Set<String> ids = new HashSet<>();
+        for (Bound bound : boundConfig.getBoundsAt(location)) {
+            ids.add(bound.getId());
+        }
+        return ids;
+    }
+
+    private static boolean isSameBlock(Location from, Location to) {
+        return from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() &&
+                from.getBlockZ() == to.getBlockZ() && from.getWorld() == to.getWorld();
+    }
+
+    // Time a player has spent in a bound, in milliseconds
+    private static class DwellTime {
+
+        private long total = 0;
+        private long enteredAt = NOT_INSIDE;
+
     }
 
 }
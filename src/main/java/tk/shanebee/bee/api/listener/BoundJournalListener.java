@@ -0,0 +1,143 @@
+package tk.shanebee.bee.api.listener;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockMultiPlaceEvent;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.config.BoundConfig;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.objects.BoundJournal;
+
+import java.util.List;
+
+/**
+ * Records block changes within bounds which are being journaled
+ */
+public class BoundJournalListener implements Listener {
+
+    private final BoundConfig boundConfig;
+
+    public BoundJournalListener(SkBee plugin) {
+        this.boundConfig = plugin.getBoundConfig();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBreak(BlockBreakEvent event) {
+        record(event.getBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onPlace(BlockPlaceEvent event) {
+        // The block has already been placed when this event is called
+        record(event.getBlock(), event.getBlockReplacedState().getBlockData());
+        if (event instanceof BlockMultiPlaceEvent) {
+            // Other parts of multi-block placements, such as the head of a bed
+            for (BlockState state : ((BlockMultiPlaceEvent) event).getReplacedBlockStates()) {
+                record(state.getBlock(), state.getBlockData());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onEntityExplode(EntityExplodeEvent event) {
+        record(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockExplode(BlockExplodeEvent event) {
+        record(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBurn(BlockBurnEvent event) {
+        record(event.getBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onFade(BlockFadeEvent event) {
+        record(event.getBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onForm(BlockFormEvent event) {
+        // Also handles BlockSpreadEvent
+        record(event.getBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onGrow(BlockGrowEvent event) {
+        record(event.getBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onLeavesDecay(LeavesDecayEvent event) {
+        record(event.getBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onFlow(BlockFromToEvent event) {
+        record(event.getToBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        // Falling blocks, endermen, ravagers, etc
+        record(event.getBlock(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onPistonExtend(BlockPistonExtendEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onPistonRetract(BlockPistonRetractEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    private void recordPiston(Block piston, List<Block> blocks, BlockFace direction) {
+        if (!BoundJournal.isJournaling()) return;
+        record(piston, null);
+        record(piston.getRelative(direction), null);
+        for (Block block : blocks) {
+            record(block, null);
+            record(block.getRelative(direction), null);
+        }
+    }
+
+    private void record(List<Block> blocks) {
+        if (!BoundJournal.isJournaling()) return;
+        for (Block block : blocks) {
+            record(block, null);
+        }
+    }
+
+    private void record(Block block, BlockData original) {
+        if (!BoundJournal.isJournaling()) return;
+        for (Bound bound : boundConfig.getBoundsAt(block)) {
+            BoundJournal journal = BoundJournal.getJournal(bound);
+            if (journal != null) {
+                journal.record(block, original);
+            }
+        }
+    }
+
+}
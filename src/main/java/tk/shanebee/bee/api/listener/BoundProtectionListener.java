@@ -0,0 +1,116 @@
+package tk.shanebee.bee.api.listener;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.config.BoundConfig;
+import tk.shanebee.bee.elements.bound.objects.Bound.Flag;
+
+import java.util.List;
+
+/**
+ * Enforces the protection flags of bounds
+ * <p>Handlers run at the highest priority, after scripts have handled these events. Scripts still see
+ * protected actions, but can not allow them, as the protection is applied after they run.</p>
+ */
+public class BoundProtectionListener implements Listener {
+
+    private final BoundConfig boundConfig;
+
+    public BoundProtectionListener(SkBee plugin) {
+        this.boundConfig = plugin.getBoundConfig();
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onBreak(BlockBreakEvent event) {
+        if (boundConfig.isProtected(event.getBlock(), Flag.BREAK)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onBucketFill(PlayerBucketFillEvent event) {
+        if (boundConfig.isProtected(event.getBlockClicked(), Flag.BREAK)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onPlace(BlockPlaceEvent event) {
+        if (boundConfig.isProtected(event.getBlock(), Flag.PLACE)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        Block block = event.getBlockClicked().getRelative(event.getBlockFace());
+        if (boundConfig.isProtected(block, Flag.PLACE)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onEntityExplode(EntityExplodeEvent event) {
+        filterExplosion(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onBlockExplode(BlockExplodeEvent event) {
+        filterExplosion(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onFlow(BlockFromToEvent event) {
+        if (boundConfig.isProtected(event.getToBlock(), Flag.FLUID_FLOW)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onPistonExtend(BlockPistonExtendEvent event) {
+        if (isPistonProtected(event.getBlock(), event.getBlocks(), event.getDirection())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    private void onPistonRetract(BlockPistonRetractEvent event) {
+        if (isPistonProtected(event.getBlock(), event.getBlocks(), event.getDirection())) {
+            event.setCancelled(true);
+        }
+    }
+
+    // Protected blocks are removed from the explosion in a single pass, the explosion itself continues
+    private void filterExplosion(List<Block> blocks) {
+        if (blocks.isEmpty()) return;
+        blocks.removeIf(block -> boundConfig.isProtected(block, Flag.EXPLODE));
+    }
+
+    private boolean isPistonProtected(Block piston, List<Block> blocks, BlockFace direction) {
+        if (boundConfig.isProtected(piston, Flag.PISTON) ||
+                boundConfig.isProtected(piston.getRelative(direction), Flag.PISTON)) {
+            return true;
+        }
+        for (Block block : blocks) {
+            if (boundConfig.isProtected(block, Flag.PISTON) ||
+                    boundConfig.isProtected(block.getRelative(direction), Flag.PISTON)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,51 @@
+package tk.shanebee.bee.api.listener;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.config.BoundConfig;
+
+/**
+ * Keeps the cached worlds and chunks of bounds in sync as worlds and chunks load and unload
+ */
+public class BoundWorldListener implements Listener {
+
+    private final SkBee plugin;
+    private final BoundConfig boundConfig;
+
+    public BoundWorldListener(SkBee plugin) {
+        this.plugin = plugin;
+        this.boundConfig = plugin.getBoundConfig();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onWorldLoad(WorldLoadEvent event) {
+        boundConfig.invalidateWorld(event.getWorld().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onWorldUnload(WorldUnloadEvent event) {
+        String world = event.getWorld().getName();
+        boundConfig.invalidateWorld(world);
+        boundConfig.unloadWorld(world);
+        // The world is only removed after this event, so clear anything cached in the meantime
+        Bukkit.getScheduler().runTask(plugin, () -> boundConfig.invalidateWorld(world));
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    private void onChunkLoad(ChunkLoadEvent event) {
+        boundConfig.loadChunk(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onChunkUnload(ChunkUnloadEvent event) {
+        boundConfig.unloadChunk(event.getChunk());
+    }
+
+}
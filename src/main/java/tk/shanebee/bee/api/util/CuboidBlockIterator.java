@@ -0,0 +1,120 @@
+package tk.shanebee.bee.api.util;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily iterate all blocks within a cuboid
+ * <p>Blocks are visited chunk by chunk (x/z outer), then section by section within a chunk,
+ * so blocks are never all held in memory at once and each chunk is only visited once.</p>
+ */
+public class CuboidBlockIterator implements Iterator<Block> {
+
+    private final World world;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    private int chunkX, chunkZ, sectionY;
+    private int startX, startY, startZ;
+    private int endX, endY, endZ;
+    private int x, y, z;
+    private boolean hasNext;
+
+    /**
+     * Create a new iterator between 2 corners
+     * <p>Corners do not need to be sorted</p>
+     *
+     * @param world World of blocks
+     * @param x1    x coord of 1st corner
+     * @param y1    y coord of 1st corner
+     * @param z1    z coord of 1st corner
+     * @param x2    x coord of 2nd corner
+     * @param y2    y coord of 2nd corner
+     * @param z2    z coord of 2nd corner
+     */
+    public CuboidBlockIterator(World world, int x1, int y1, int z1, int x2, int y2, int z2) {
+        this.world = world;
+        this.minX = Math.min(x1, x2);
+        this.minY = Math.min(y1, y2);
+        this.minZ = Math.min(z1, z2);
+        this.maxX = Math.max(x1, x2);
+        this.maxY = Math.max(y1, y2);
+        this.maxZ = Math.max(z1, z2);
+        this.chunkX = minX >> 4;
+        this.chunkZ = minZ >> 4;
+        this.sectionY = minY >> 4;
+        this.hasNext = world != null;
+        setupSection();
+    }
+
+    /**
+     * Get the amount of blocks within a cuboid
+     *
+     * @param x1 x coord of 1st corner
+     * @param y1 y coord of 1st corner
+     * @param z1 z coord of 1st corner
+     * @param x2 x coord of 2nd corner
+     * @param y2 y coord of 2nd corner
+     * @param z2 z coord of 2nd corner
+     * @return Amount of blocks
+     */
+    public static long getVolume(int x1, int y1, int z1, int x2, int y2, int z2) {
+        return (Math.abs((long) x2 - x1) + 1) * (Math.abs((long) y2 - y1) + 1) * (Math.abs((long) z2 - z1) + 1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public Block next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        Block block = world.getBlockAt(x, y, z);
+        advance();
+        return block;
+    }
+
+    private void advance() {
+        if (++x <= endX) return;
+        x = startX;
+        if (++z <= endZ) return;
+        z = startZ;
+        if (++y <= endY) return;
+
+        if (++sectionY <= maxY >> 4) {
+            setupSection();
+            return;
+        }
+        sectionY = minY >> 4;
+        if (++chunkZ <= maxZ >> 4) {
+            setupSection();
+            return;
+        }
+        chunkZ = minZ >> 4;
+        if (++chunkX <= maxX >> 4) {
+            setupSection();
+            return;
+        }
+        hasNext = false;
+    }
+
+    // Clamp the cuboid to the current chunk section
+    private void setupSection() {
+        startX = Math.max(minX, chunkX << 4);
+        endX = Math.min(maxX, (chunkX << 4) + 15);
+        startY = Math.max(minY, sectionY << 4);
+        endY = Math.min(maxY, (sectionY << 4) + 15);
+        startZ = Math.max(minZ, chunkZ << 4);
+        endZ = Math.min(maxZ, (chunkZ << 4) + 15);
+        x = startX;
+        y = startY;
+        z = startZ;
+    }
+
+}
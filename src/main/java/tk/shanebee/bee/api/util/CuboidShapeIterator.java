@@ -0,0 +1,161 @@
+package tk.shanebee.bee.api.util;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily iterate the blocks of part of a cuboid, such as its surface or edges
+ * <p>The shape is split into non overlapping boxes which are iterated one after another,
+ * so each block is only visited once and only blocks of the shape are visited.</p>
+ */
+public class CuboidShapeIterator implements Iterator<Block> {
+
+    /**
+     * Parts of a cuboid which can be iterated
+     */
+    public enum Shape {
+        /**
+         * All 6 faces of the cuboid
+         */
+        SURFACE,
+        /**
+         * The 4 vertical faces of the cuboid, without floor and ceiling
+         */
+        WALLS,
+        /**
+         * The 12 edges of the cuboid
+         */
+        EDGES,
+        /**
+         * The 8 corners of the cuboid
+         */
+        CORNERS
+    }
+
+    private final World world;
+    private final Iterator<int[]> boxes;
+    private Iterator<Block> current = null;
+
+    /**
+     * Create a new iterator for a shape of a cuboid between 2 corners
+     * <p>Corners do not need to be sorted</p>
+     *
+     * @param world World of blocks
+     * @param shape Shape to iterate
+     * @param x1    x coord of 1st corner
+     * @param y1    y coord of 1st corner
+     * @param z1    z coord of 1st corner
+     * @param x2    x coord of 2nd corner
+     * @param y2    y coord of 2nd corner
+     * @param z2    z coord of 2nd corner
+     */
+    public CuboidShapeIterator(World world, Shape shape, int x1, int y1, int z1, int x2, int y2, int z2) {
+        this.world = world;
+        List<int[]> boxes = new ArrayList<>();
+        if (world != null) {
+            int minX = Math.min(x1, x2), minY = Math.min(y1, y2), minZ = Math.min(z1, z2);
+            int maxX = Math.max(x1, x2), maxY = Math.max(y1, y2), maxZ = Math.max(z1, z2);
+            switch (shape) {
+                case SURFACE:
+                    addSurface(boxes, minX, minY, minZ, maxX, maxY, maxZ);
+                    break;
+                case WALLS:
+                    addWalls(boxes, minX, minY, minZ, maxX, maxY, maxZ);
+                    break;
+                case EDGES:
+                    addEdges(boxes, minX, minY, minZ, maxX, maxY, maxZ);
+                    break;
+                case CORNERS:
+                    addCorners(boxes, minX, minY, minZ, maxX, maxY, maxZ);
+            }
+        }
+        this.boxes = boxes.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            if (!boxes.hasNext()) return false;
+            int[] box = boxes.next();
+            current = new CuboidBlockIterator(world, box[0], box[1], box[2], box[3], box[4], box[5]);
+        }
+        return true;
+    }
+
+    @Override
+    public Block next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    private static void addSurface(List<int[]> boxes, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        // Floor and ceiling, then the walls between them
+        add(boxes, minX, minY, minZ, maxX, minY, maxZ);
+        if (maxY > minY) {
+            add(boxes, minX, maxY, minZ, maxX, maxY, maxZ);
+        }
+        addWalls(boxes, minX, minY + 1, minZ, maxX, maxY - 1, maxZ);
+    }
+
+    private static void addWalls(List<int[]> boxes, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        // North/south walls take the full width, east/west walls fill in between them
+        add(boxes, minX, minY, minZ, maxX, maxY, minZ);
+        if (maxZ > minZ) {
+            add(boxes, minX, minY, maxZ, maxX, maxY, maxZ);
+        }
+        add(boxes, minX, minY, minZ + 1, minX, maxY, maxZ - 1);
+        if (maxX > minX) {
+            add(boxes, maxX, minY, minZ + 1, maxX, maxY, maxZ - 1);
+        }
+    }
+
+    private static void addEdges(List<int[]> boxes, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int[] xs = distinct(minX, maxX);
+        int[] ys = distinct(minY, maxY);
+        int[] zs = distinct(minZ, maxZ);
+        // Edges along x take the corners, edges along y and z fill in between them
+        for (int y : ys) {
+            for (int z : zs) {
+                add(boxes, minX, y, z, maxX, y, z);
+            }
+        }
+        for (int y : ys) {
+            for (int x : xs) {
+                add(boxes, x, y, minZ + 1, x, y, maxZ - 1);
+            }
+        }
+        for (int x : xs) {
+            for (int z : zs) {
+                add(boxes, x, minY + 1, z, x, maxY - 1, z);
+            }
+        }
+    }
+
+    private static void addCorners(List<int[]> boxes, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        for (int x : distinct(minX, maxX)) {
+            for (int y : distinct(minY, maxY)) {
+                for (int z : distinct(minZ, maxZ)) {
+                    add(boxes, x, y, z, x, y, z);
+                }
+            }
+        }
+    }
+
+    private static int[] distinct(int min, int max) {
+        return min == max ? new int[]{min} : new int[]{min, max};
+    }
+
+    // Boxes which are empty (min greater than max) are skipped
+    private static void add(List<int[]> boxes, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (minX > maxX || minY > maxY || minZ > maxZ) return;
+        boxes.add(new int[]{minX, minY, minZ, maxX, maxY, maxZ});
+    }
+
+}
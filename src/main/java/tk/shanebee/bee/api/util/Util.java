@@ -1,6 +1,9 @@
 package tk.shanebee.bee.api.util;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.Literal;
+import ch.njol.skript.lang.VariableString;
 import ch.njol.skript.log.ErrorQuality;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -24,6 +27,24 @@ public class Util {
         Skript.error(getColString(PREFIX_ERROR + error), ErrorQuality.SEMANTIC_ERROR);
     }
 
+    /**
+     * Get the string of an expression if it is a literal string
+     * <p>Literal strings never change, so they can be resolved once when a script loads
+     * instead of every time the syntax runs.</p>
+     *
+     * @param expression Expression to check
+     * @return String of the expression, or null if the expression is not a literal string
+     */
+    public static String getLiteralString(Expression<?> expression) {
+        if (expression instanceof Literal) {
+            Object literal = ((Literal<?>) expression).getSingle();
+            return literal instanceof String ? (String) literal : null;
+        } else if (expression instanceof VariableString && ((VariableString) expression).isSimple()) {
+            return ((VariableString) expression).toString(null);
+        }
+        return null;
+    }
+
     /**
      * Convert a UUID to an int array
      * <p>Used for Minecraft 1.16+</p>
@@ -16,6 +16,7 @@ public class Config {
 
     // Config stuff
     public boolean SETTINGS_DEBUG;
+    public long SETTINGS_MAX_BLOCK_VOLUME;
     public boolean ELEMENTS_NBT;
     public boolean ELEMENTS_BOARD;
     public boolean ELEMENTS_RECIPE;
@@ -24,6 +25,10 @@ public class Config {
     public boolean ELEMENTS_VIRTUAL_FURNACE;
     public boolean ELEMENTS_TEXT_COMPONENT;
     public boolean ELEMENTS_PATHFINDING;
+    public String BOUND_STORAGE;
+    public int BOUND_SAVE_DELAY;
+    public int BOUND_TICK_BUDGET;
+    public int BOUND_ENTITY_TRACK_INTERVAL;
     public String RECIPE_NAMESPACE;
 
     public Config(SkBee plugin) {
@@ -73,6 +78,7 @@ public class Config {
 
     private void loadConfigs() {
         this.SETTINGS_DEBUG = this.config.getBoolean("settings.debug");
+        this.SETTINGS_MAX_BLOCK_VOLUME = this.config.getLong("settings.max-block-volume");
         this.ELEMENTS_NBT = this.config.getBoolean("elements.nbt");
         this.ELEMENTS_BOARD = this.config.getBoolean("elements.scoreboard");
         this.ELEMENTS_RECIPE = this.config.getBoolean("elements.recipe");
@@ -81,6 +87,11 @@ public class Config {
         this.ELEMENTS_VIRTUAL_FURNACE = this.config.getBoolean("elements.virtual-furnace");
         this.ELEMENTS_TEXT_COMPONENT = this.config.getBoolean("elements.text-component");
         this.ELEMENTS_PATHFINDING = this.config.getBoolean("elements.pathfinding");
+        String storage = this.config.getString("bound.storage");
+        this.BOUND_STORAGE = storage != null ? storage : "yaml";
+        this.BOUND_SAVE_DELAY = Math.max(this.config.getInt("bound.save-delay"), 1);
+        this.BOUND_TICK_BUDGET = Math.max(this.config.getInt("bound.tick-budget"), 1);
+        this.BOUND_ENTITY_TRACK_INTERVAL = Math.max(this.config.getInt("bound.entity-track-interval"), 1);
         String namespace = this.config.getString("recipe.namespace");
         if (namespace == null) {
             namespace = "skrecipe";
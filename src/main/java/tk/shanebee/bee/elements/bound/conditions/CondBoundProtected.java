@@ -0,0 +1,53 @@
+package tk.shanebee.bee.elements.bound.conditions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Condition;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.objects.Bound.Flag;
+
+@Name("Bound - Is Protected")
+@Description("Check if a bound is protected from breaking, placing, explosions, fluid flow or pistons.")
+@Examples({"if bound {spawn} is protected from breaking:",
+        "if bound {arena} is not protected from explosions:"})
+@Since("1.6.0")
+public class CondBoundProtected extends Condition {
+
+    private static final String FLAGS = "(1¦breaking|2¦placing|3¦explosions|4¦fluid flow|5¦pistons)";
+
+    static {
+        Skript.registerCondition(CondBoundProtected.class,
+                "[bound[s]] %bounds% (is|are) protected (from|against) " + FLAGS,
+                "[bound[s]] %bounds% (isn't|is not|aren't|are not) protected (from|against) " + FLAGS);
+    }
+
+    private Expression<Bound> bounds;
+    private Flag flag;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.bounds = (Expression<Bound>) exprs[0];
+        this.flag = Flag.values()[parseResult.mark - 1];
+        setNegated(matchedPattern == 1);
+        return true;
+    }
+
+    @Override
+    public boolean check(Event event) {
+        return bounds.check(event, bound -> bound.hasFlag(flag), isNegated());
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return "bound " + bounds.toString(e, d) + (isNegated() ? " is not" : " is") + " protected from " + flag.getName();
+    }
+
+}
@@ -0,0 +1,280 @@
+package tk.shanebee.bee.elements.bound.config;
+
+import tk.shanebee.bee.api.util.Util;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores bounds in a compact binary journal
+ * <p>The file starts with a header followed by records. World names and IDs are written once
+ * as string records and referenced by index. Each bound is a fixed width record of 9 ints
+ * (ID, world, corners and protection flags). Version 1 files, without flags, are still read and
+ * are rewritten in the current version on the next save.
+ * Changes are appended to the end of the file, and once the journal grows too large compared to
+ * the amount of live bounds, the file is rewritten with only the current bounds.
+ * A file which can not be read is moved aside to "bounds.dat.corrupt" so it is never appended to
+ * or compacted over. If it can not be moved, saving is disabled instead.</p>
+ */
+class BinaryBoundStorage implements BoundStorage {
+
+    private static final int MAGIC = 0x534B4242; // SKBB
+    private static final byte VERSION = 2;
+    private static final byte VERSION_NO_FLAGS = 1;
+
+    private static final byte STRING = 1;
+    private static final byte PUT = 2;
+    private static final byte REMOVE = 3;
+
+    private static final int MIN_COMPACT_RECORDS = 1024;
+
+    private final File file;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Set<String> liveIds = new HashSet<>();
+    private volatile int journalRecords = 0;
+    private volatile int liveBounds = 0;
+    private volatile boolean disabled = false;
+
+    BinaryBoundStorage(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public Collection<Bound> loadBounds() throws IOException {
+        if (!file.exists()) return new ArrayList<>();
+        try {
+            return readBounds();
+        } catch (IOException ex) {
+            moveAside();
+            throw ex;
+        } catch (RuntimeException ex) {
+            moveAside();
+            throw new IOException("Corrupt bound storage file: " + file.getName(), ex);
+        }
+    }
+
+    private Collection<Bound> readBounds() throws IOException {
+
+        List<String> table = new ArrayList<>();
+        Map<String, Bound> bounds = new LinkedHashMap<>();
+        int records = 0;
+        boolean truncated = false;
+        boolean outdated;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Invalid bound storage file: " + file.getName());
+            }
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_NO_FLAGS) {
+                throw new IOException("Unsupported bound storage version " + version + " in " + file.getName());
+            }
+            outdated = version != VERSION;
+            int tag;
+            while ((tag = in.read()) != -1) {
+                try {
+                    switch (tag) {
+                        case STRING:
+                            int index = in.readInt();
+                            String string = in.readUTF();
+                            if (index != table.size()) {
+                                throw new IOException("Corrupt string table in " + file.getName());
+                            }
+                            table.add(string);
+                            break;
+                        case PUT:
+                            String id = getString(table, in.readInt());
+                            String world = getString(table, in.readInt());
+                            Bound bound = new Bound(world, in.readInt(), in.readInt(), in.readInt(),
+                                    in.readInt(), in.readInt(), in.readInt(), id);
+                            if (!outdated) {
+                                bound.setFlags(in.readInt());
+                            }
+                            bounds.put(id, bound);
+                            records++;
+                            break;
+                        case REMOVE:
+                            bounds.remove(getString(table, in.readInt()));
+                            records++;
+                            break;
+                        default:
+                            throw new IOException("Unknown record type " + tag + " in " + file.getName());
+                    }
+                } catch (EOFException ex) {
+                    // Last record was only partially written
+                    truncated = true;
+                    break;
+                }
+            }
+        }
+
+        strings.clear();
+        for (int i = 0; i < table.size(); i++) {
+            strings.put(table.get(i), i);
+        }
+        liveIds.clear();
+        liveIds.addAll(bounds.keySet());
+        liveBounds = liveIds.size();
+        // Older versions can not be appended to, force a full rewrite on the next save
+        journalRecords = outdated ? Integer.MAX_VALUE : records;
+
+        if (truncated) {
+            Util.log("&eBound storage was not fully written, rewriting &b" + file.getName());
+            compact(bounds.values());
+        }
+        return bounds.values();
+    }
+
+    private String getString(List<String> table, int index) throws IOException {
+        if (index < 0 || index >= table.size()) {
+            throw new IOException("Invalid string index " + index + " in " + file.getName());
+        }
+        return table.get(index);
+    }
+
+    // Keep unreadable data out of the way, so saves start a new file instead of appending to it
+    private void moveAside() {
+        File corrupt = new File(file.getPath() + ".corrupt");
+        if (corrupt.exists()) {
+            corrupt = new File(file.getPath() + "." + System.currentTimeMillis() + ".corrupt");
+        }
+        try {
+            Files.move(file.toPath(), corrupt.toPath());
+            Util.log("&cCould not read &b" + file.getName() + "&c, it has been moved to &b" + corrupt.getName());
+        } catch (IOException ex) {
+            disabled = true;
+            Util.log("&cCould not read &b" + file.getName() + "&c, saving bounds is disabled to protect it");
+        }
+    }
+
+    @Override
+    public boolean requiresAllBounds() {
+        if (disabled) return false;
+        return journalRecords > Math.max(MIN_COMPACT_RECORDS, liveBounds * 2);
+    }
+
+    @Override
+    public void saveBounds(Collection<Bound> bounds, Map<String, Bound> changes) throws IOException {
+        if (disabled) {
+            throw new IOException("Saving is disabled, " + file.getName() + " could not be read");
+        }
+        try {
+            if (bounds != null) {
+                compact(bounds);
+            } else if (!changes.isEmpty()) {
+                append(changes);
+            }
+        } catch (IOException ex) {
+            // The journal may now be incomplete, rewrite it on the next save
+            journalRecords = Integer.MAX_VALUE;
+            throw ex;
+        }
+    }
+
+    /**
+     * Check if the binary file exists
+     *
+     * @return True if the binary file exists
+     */
+    boolean exists() {
+        return file.exists();
+    }
+
+    private void append(Map<String, Bound> changes) throws IOException {
+        boolean newFile = !file.exists();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            if (newFile) {
+                strings.clear();
+                writeHeader(out);
+            }
+            for (Map.Entry<String, Bound> entry : changes.entrySet()) {
+                String id = entry.getKey();
+                Bound bound = entry.getValue();
+                if (bound != null) {
+                    writeBound(out, bound);
+                    liveIds.add(id);
+                } else if (liveIds.remove(id)) {
+                    int index = intern(out, id);
+                    out.writeByte(REMOVE);
+                    out.writeInt(index);
+                } else {
+                    continue;
+                }
+                journalRecords++;
+            }
+        }
+        liveBounds = liveIds.size();
+    }
+
+    private void compact(Collection<Bound> bounds) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        strings.clear();
+        liveIds.clear();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            writeHeader(out);
+            for (Bound bound : bounds) {
+                writeBound(out, bound);
+                liveIds.add(bound.getId());
+            }
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ignore) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        liveBounds = liveIds.size();
+        journalRecords = liveBounds;
+    }
+
+    private void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    private void writeBound(DataOutputStream out, Bound bound) throws IOException {
+        int id = intern(out, bound.getId());
+        int world = intern(out, bound.getWorldString());
+        out.writeByte(PUT);
+        out.writeInt(id);
+        out.writeInt(world);
+        out.writeInt(bound.getLesserX());
+        out.writeInt(bound.getLesserY());
+        out.writeInt(bound.getLesserZ());
+        out.writeInt(bound.getGreaterX());
+        out.writeInt(bound.getGreaterY());
+        out.writeInt(bound.getGreaterZ());
+        out.writeInt(bound.getFlags());
+    }
+
+    // Write a string record the first time a string is used
+    private int intern(DataOutputStream out, String string) throws IOException {
+        Integer index = strings.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.put(string, index);
+            out.writeByte(STRING);
+            out.writeInt(index);
+            out.writeUTF(string);
+        }
+        return index;
+    }
+
+}
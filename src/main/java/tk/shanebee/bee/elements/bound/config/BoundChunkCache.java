@@ -0,0 +1,211 @@
+package tk.shanebee.bee.elements.bound.config;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed {@link Bound bounds} of each loaded chunk
+ * <p>Bounds overlapping a chunk are computed when the chunk loads, kept up to date as bounds change,
+ * and dropped when the chunk unloads. Checks in loaded chunks then only need a single lookup,
+ * and chunks fully covered by a bound need no coordinate checks at all.</p>
+ */
+class BoundChunkCache {
+
+    private static final Bound[] EMPTY = new Bound[0];
+
+    private final BoundIndex boundIndex;
+    private final Map<String, Map<Long, ChunkBounds>> worlds = new HashMap<>();
+    // Loaded chunks each bound overlaps, mapped by world then bound ID, so updates never scan all loaded chunks
+    private final Map<String, Map<String, Set<Long>>> footprints = new HashMap<>();
+
+    BoundChunkCache(BoundIndex boundIndex) {
+        this.boundIndex = boundIndex;
+    }
+
+    /**
+     * Compute the bounds of all currently loaded chunks
+     */
+    void loadAll() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                load(chunk);
+            }
+        }
+    }
+
+    void load(Chunk chunk) {
+        World world = chunk.getWorld();
+        Map<Long, ChunkBounds> chunks = worlds.computeIfAbsent(world.getName(), k -> new HashMap<>());
+        setChunk(world.getName(), chunks, BoundIndex.getKey(chunk.getX(), chunk.getZ()), compute(world, chunk.getX(), chunk.getZ()));
+    }
+
+    void unload(Chunk chunk) {
+        String world = chunk.getWorld().getName();
+        Map<Long, ChunkBounds> chunks = worlds.get(world);
+        if (chunks == null) return;
+        setChunk(world, chunks, BoundIndex.getKey(chunk.getX(), chunk.getZ()), null);
+        if (chunks.isEmpty()) worlds.remove(world);
+    }
+
+    void unloadWorld(String world) {
+        worlds.remove(world);
+        footprints.remove(world);
+    }
+
+    /**
+     * Recompute all loaded chunks affected by a bound
+     * <p>This must be called after the bound index has been updated.
+     * Both the loaded chunks the bound used to overlap (tracked per bound) and the chunks it now overlaps
+     * are recomputed, each chunk only once.</p>
+     *
+     * @param bound   Bound which was added, changed or removed
+     * @param removed Whether the bound was removed
+     */
+    void update(Bound bound, boolean removed) {
+        String worldName = bound.getWorldString();
+        // A bound with the same ID may have been replaced by one in another world
+        for (String footprintWorld : new ArrayList<>(footprints.keySet())) {
+            if (footprintWorld.equals(worldName)) continue;
+            Set<Long> previous = footprints.get(footprintWorld).get(bound.getId());
+            if (previous != null) {
+                recompute(footprintWorld, new HashSet<>(previous));
+            }
+        }
+
+        Set<Long> affected = new HashSet<>();
+        Map<String, Set<Long>> worldFootprints = footprints.get(worldName);
+        Set<Long> previous = worldFootprints != null ? worldFootprints.get(bound.getId()) : null;
+        if (previous != null) {
+            affected.addAll(previous);
+        }
+        Map<Long, ChunkBounds> chunks = worlds.get(worldName);
+        if (chunks == null) return;
+        if (!removed) {
+            int minX = Math.min(bound.getLesserX(), bound.getGreaterX()) >> 4;
+            int minZ = Math.min(bound.getLesserZ(), bound.getGreaterZ()) >> 4;
+            int maxX = Math.max(bound.getLesserX(), bound.getGreaterX()) >> 4;
+            int maxZ = Math.max(bound.getLesserZ(), bound.getGreaterZ()) >> 4;
+            if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > chunks.size()) {
+                // Bound covers more chunks than are loaded, check the loaded chunks instead
+                for (long key : chunks.keySet()) {
+                    int cx = (int) (key >> 32);
+                    int cz = (int) key;
+                    if (cx >= minX && cx <= maxX && cz >= minZ && cz <= maxZ) {
+                        affected.add(key);
+                    }
+                }
+            } else {
+                for (int cx = minX; cx <= maxX; cx++) {
+                    for (int cz = minZ; cz <= maxZ; cz++) {
+                        long key = BoundIndex.getKey(cx, cz);
+                        if (chunks.containsKey(key)) {
+                            affected.add(key);
+                        }
+                    }
+                }
+            }
+        }
+        recompute(worldName, affected);
+    }
+
+    private void recompute(String worldName, Set<Long> keys) {
+        Map<Long, ChunkBounds> chunks = worlds.get(worldName);
+        if (chunks == null) return;
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) return;
+        for (long key : keys) {
+            if (!chunks.containsKey(key)) continue;
+            setChunk(worldName, chunks, key, compute(world, (int) (key >> 32), (int) key));
+        }
+    }
+
+    // Replace the bounds of a chunk, keeping the footprint of each bound up to date
+    private void setChunk(String world, Map<Long, ChunkBounds> chunks, long key, ChunkBounds bounds) {
+        ChunkBounds old = bounds != null ? chunks.put(key, bounds) : chunks.remove(key);
+        Map<String, Set<Long>> worldFootprints = footprints.get(world);
+        if (old != null && worldFootprints != null) {
+            for (Bound bound : old.bounds) {
+                Set<Long> keys = worldFootprints.get(bound.getId());
+                if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                    worldFootprints.remove(bound.getId());
+                }
+            }
+            if (worldFootprints.isEmpty()) footprints.remove(world);
+        }
+        if (bounds != null && bounds.bounds.length > 0) {
+            worldFootprints = footprints.computeIfAbsent(world, k -> new HashMap<>());
+            for (Bound bound : bounds.bounds) {
+                worldFootprints.computeIfAbsent(bound.getId(), k -> new HashSet<>()).add(key);
+            }
+        }
+    }
+
+    /**
+     * Get the precomputed bounds of a chunk
+     *
+     * @param world  Name of world
+     * @param chunkX Chunk x coord
+     * @param chunkZ Chunk z coord
+     * @return Bounds of chunk, or null if the chunk is not loaded
+     */
+    ChunkBounds get(String world, int chunkX, int chunkZ) {
+        Map<Long, ChunkBounds> chunks = worlds.get(world);
+        if (chunks == null) return null;
+        return chunks.get(BoundIndex.getKey(chunkX, chunkZ));
+    }
+
+    private ChunkBounds compute(World world, int chunkX, int chunkZ) {
+        int minX = chunkX << 4;
+        int minZ = chunkZ << 4;
+        List<Bound> bounds = boundIndex.getBounds(world.getName(), minX, Integer.MIN_VALUE, minZ,
+                minX + 15, Integer.MAX_VALUE, minZ + 15);
+        if (bounds.isEmpty()) return new ChunkBounds(EMPTY, false, 0);
+
+        int maxY = world.getMaxHeight() - 1;
+        boolean covered = false;
+        int flags = 0;
+        for (Bound bound : bounds) {
+            flags |= bound.getFlags();
+            if (covered) continue;
+            if (bound.getLesserX() <= minX && bound.getGreaterX() >= minX + 15 &&
+                    bound.getLesserZ() <= minZ && bound.getGreaterZ() >= minZ + 15 &&
+                    bound.getLesserY() <= 0 && bound.getGreaterY() >= maxY) {
+                covered = true;
+            }
+        }
+        return new ChunkBounds(bounds.toArray(EMPTY), covered, flags);
+    }
+
+    static class ChunkBounds {
+
+        /**
+         * All bounds overlapping this chunk
+         */
+        final Bound[] bounds;
+        /**
+         * Whether the entire chunk is within at least one bound
+         */
+        final boolean covered;
+        /**
+         * Protection flags enabled on any bound overlapping this chunk
+         */
+        final int flags;
+
+        private ChunkBounds(Bound[] bounds, boolean covered, int flags) {
+            this.bounds = bounds;
+            this.covered = covered;
+            this.flags = flags;
+        }
+
+    }
+
+}
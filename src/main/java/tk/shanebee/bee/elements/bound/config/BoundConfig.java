@@ -1,60 +1,150 @@
 package tk.shanebee.bee.elements.bound.config;
 
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitTask;
 import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.listener.BoundBorderListener;
+import tk.shanebee.bee.api.util.Util;
+import tk.shanebee.bee.config.Config;
+import tk.shanebee.bee.elements.bound.config.BoundChunkCache.ChunkBounds;
+import tk.shanebee.bee.elements.bound.effects.EffBoundLoadChunks;
 import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.objects.BoundJournal;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class BoundConfig {
 
     private final SkBee plugin;
-    private File boundFile;
-    private FileConfiguration boundConfig;
+    private final int saveDelay;
+    private final BoundStorage storage;
     private final Map<String, Bound> boundsMap = new HashMap<>();
+    private final BoundIndex boundIndex = new BoundIndex();
+    private final BoundChunkCache chunkCache = new BoundChunkCache(boundIndex);
+    private final Set<String> dirtyIds = new HashSet<>();
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor();
+    private BukkitTask saveTask = null;
+    private volatile PublishedBounds publishedBounds;
+    private BukkitTask publishTask = null;
+    private final Set<String> unpublishedIds = new HashSet<>();
 
     public BoundConfig(SkBee plugin) {
         this.plugin = plugin;
-        loadBoundConfig();
+        Config config = plugin.getPluginConfig();
+        this.saveDelay = config.BOUND_SAVE_DELAY;
+        this.storage = createStorage(config.BOUND_STORAGE);
+        loadBounds();
+        chunkCache.loadAll();
+        this.publishedBounds = PublishedBounds.create(boundsMap);
     }
 
-    private void loadBoundConfig() {
-        if (boundFile == null) {
-            boundFile = new File(plugin.getDataFolder(), "bounds.yml");
+    private BoundStorage createStorage(String type) {
+        YamlBoundStorage yaml = new YamlBoundStorage(plugin);
+        if (!type.equalsIgnoreCase("binary")) {
+            return yaml;
         }
-        if (!boundFile.exists()) {
-            plugin.saveResource("bounds.yml", false);
+        BinaryBoundStorage binary = new BinaryBoundStorage(new File(plugin.getDataFolder(), "bounds.dat"));
+        if (!binary.exists() && yaml.exists()) {
+            // One time migration from yaml
+            try {
+                Collection<Bound> bounds = yaml.loadBounds();
+                binary.saveBounds(bounds, Collections.emptyMap());
+                Util.log("&aMigrated &b" + bounds.size() + "&a bounds from &bbounds.yml&a to &bbounds.dat");
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
-        boundConfig = YamlConfiguration.loadConfiguration(boundFile);
-        loadBounds();
+        return binary;
     }
 
     private void loadBounds() {
-        ConfigurationSection section = boundConfig.getConfigurationSection("bounds");
-        if (section == null) return;
-        for (String string : section.getKeys(true)) {
-            if (section.get(string) instanceof Bound) {
-                boundsMap.put(string, ((Bound) section.get(string)));
+        try {
+            for (Bound bound : storage.loadBounds()) {
+                boundsMap.put(bound.getId(), bound);
+                boundIndex.add(bound);
             }
+        } catch (IOException | RuntimeException e) {
+            Util.log("&cFailed to load bounds: &7" + e.getMessage());
+            e.printStackTrace();
         }
     }
 
     public void saveBound(Bound bound) {
-        boundConfig.set("bounds." + bound.getId(), bound);
         boundsMap.put(bound.getId(), bound);
-        saveConfig();
+        boundIndex.add(bound);
+        chunkCache.update(bound, false);
+        markDirty(bound.getId());
+        schedulePublish(bound.getId());
     }
 
     public void removeBound(Bound bound) {
         boundsMap.remove(bound.getId());
-        boundConfig.set("bounds." + bound.getId(), null);
-        saveConfig();
+        boundIndex.remove(bound.getId());
+        chunkCache.update(bound, true);
+        BoundBorderListener borderListener = plugin.getBoundBorderListener();
+        if (borderListener != null) {
+            borderListener.removeBound(bound.getId());
+        }
+        // Discard the journal so deleted bounds do not keep recording changes
+        BoundJournal.stop(bound);
+        // Release chunks held by the load chunks effect
+        EffBoundLoadChunks.release(bound.getId());
+        markDirty(bound.getId());
+        schedulePublish(bound.getId());
+    }
+
+    /**
+     * Update the index of a bound after its coordinates have changed
+     *
+     * @param bound Bound that was changed
+     */
+    public void updateBound(Bound bound) {
+        if (boundsMap.get(bound.getId()) == bound) {
+            boundIndex.update(bound);
+            chunkCache.update(bound, false);
+            markDirty(bound.getId());
+            schedulePublish(bound.getId());
+        }
+    }
+
+    /**
+     * Get an immutable view of all bounds
+     * <p>This is safe to call from any thread. A new view is published at the end of each tick
+     * in which bounds were created, changed or removed, views are never modified once published.</p>
+     *
+     * @return Latest published view of all bounds
+     */
+    public PublishedBounds getPublishedBounds() {
+        return publishedBounds;
+    }
+
+    // Changes made within a tick are published together, so setting several coords only copies bounds once
+    private void schedulePublish(String id) {
+        unpublishedIds.add(id);
+        if (publishTask == null) {
+            publishTask = Bukkit.getScheduler().runTask(plugin, () -> {
+                publishTask = null;
+                // Only changed bounds are copied, the rest are shared with the previous view
+                publishedBounds = publishedBounds.update(unpublishedIds, boundsMap);
+                unpublishedIds.clear();
+            });
+        }
     }
 
     public Bound getBoundFromID(String id) {
@@ -64,21 +154,293 @@ public class BoundConfig {
     }
 
     public void saveAllBounds() {
-        for (Bound bound : boundsMap.values()) {
-            saveBound(bound);
+        for (String id : boundsMap.keySet()) {
+            markDirty(id);
         }
     }
 
-    private void saveConfig() {
+    /**
+     * Immediately save all bounds to file on the current thread
+     * <p>Any pending delayed save will be cancelled and queued saves will be waited on.
+     * This is used when the plugin disables.</p>
+     */
+    public void saveAllBoundsNow() {
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        saveExecutor.shutdown();
         try {
-            boundConfig.save(boundFile);
-        } catch (IOException e) {
-            e.printStackTrace();
+            if (!saveExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                Util.log("&cTimed out waiting for bounds to save");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        if (dirtyIds.isEmpty()) return;
+        createSave().run();
+    }
+
+    // Changes are batched, storage is written once after the save delay
+    private void markDirty(String id) {
+        dirtyIds.add(id);
+        if (saveTask == null && !saveExecutor.isShutdown()) {
+            saveTask = Bukkit.getScheduler().runTaskLater(plugin, this::saveLater, saveDelay);
+        }
+    }
+
+    private void saveLater() {
+        saveTask = null;
+        if (dirtyIds.isEmpty()) return;
+        // Saves run on a single thread so they are written in order
+        saveExecutor.execute(createSave());
+    }
+
+    // Copies are made on the main thread so the writer never sees bounds mid-change
+    private Runnable createSave() {
+        Map<String, Bound> changes = new HashMap<>();
+        for (String id : dirtyIds) {
+            Bound bound = boundsMap.get(id);
+            changes.put(id, bound != null ? copyBound(bound) : null);
+        }
+        dirtyIds.clear();
+        List<Bound> bounds = null;
+        if (storage.requiresAllBounds()) {
+            bounds = new ArrayList<>(boundsMap.size());
+            for (Bound bound : boundsMap.values()) {
+                bounds.add(copyBound(bound));
+            }
+        }
+        List<Bound> allBounds = bounds;
+        return () -> {
+            try {
+                storage.saveBounds(allBounds, changes);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        };
+    }
+
+    private static Bound copyBound(Bound bound) {
+        Bound copy = new Bound(bound.getWorldString(), bound.getLesserX(), bound.getLesserY(), bound.getLesserZ(),
+                bound.getGreaterX(), bound.getGreaterY(), bound.getGreaterZ(), bound.getId());
+        copy.setFlags(bound.getFlags());
+        return copy;
     }
 
     public Collection<Bound> getBounds() {
         return boundsMap.values();
     }
 
+    /**
+     * Get all bounds in a world
+     *
+     * @param world World to get bounds from
+     * @return Unmodifiable collection of bounds in this world
+     */
+    public Collection<Bound> getBounds(World world) {
+        return boundIndex.getBounds(world.getName());
+    }
+
+    /**
+     * Clear the cached world of all bounds in a world
+     * <p>This is called when a world is loaded or unloaded</p>
+     *
+     * @param world Name of world
+     */
+    public void invalidateWorld(String world) {
+        for (Bound bound : boundIndex.getBounds(world)) {
+            bound.invalidateWorld();
+        }
+    }
+
+    /**
+     * Get all bounds at a location
+     *
+     * @param location Location to check
+     * @return List of bounds containing this location
+     */
+    public List<Bound> getBoundsAt(Location location) {
+        World world = location.getWorld();
+        if (world == null) return new ArrayList<>();
+        return getBoundsAt(world.getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Get all bounds containing a block
+     *
+     * @param block Block to check
+     * @return List of bounds containing this block
+     */
+    public List<Bound> getBoundsAt(Block block) {
+        return getBoundsAt(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
+    }
+
+    private List<Bound> getBoundsAt(String world, int x, int y, int z) {
+        ChunkBounds chunk = chunkCache.get(world, x >> 4, z >> 4);
+        if (chunk == null) {
+            return boundIndex.getBounds(world, x, y, z);
+        }
+        List<Bound> bounds = new ArrayList<>(chunk.bounds.length);
+        for (Bound bound : chunk.bounds) {
+            if (bound.isInRegion(x, y, z)) {
+                bounds.add(bound);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Check if a block is within any bound
+     * <p>For loaded chunks this uses the precomputed bounds of the chunk,
+     * chunks fully covered by a bound need no further checks.</p>
+     *
+     * @param block Block to check
+     * @return True if block is within at least one bound
+     */
+    public boolean isInAnyBound(Block block) {
+        return isInAnyBound(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Check if a location is within any bound
+     *
+     * @param location Location to check
+     * @return True if location is within at least one bound
+     */
+    public boolean isInAnyBound(Location location) {
+        World world = location.getWorld();
+        if (world == null) return false;
+        return isInAnyBound(world.getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    private boolean isInAnyBound(String world, int x, int y, int z) {
+        ChunkBounds chunk = chunkCache.get(world, x >> 4, z >> 4);
+        if (chunk == null) {
+            return !boundIndex.getBounds(world, x, y, z).isEmpty();
+        }
+        if (chunk.covered) return true;
+        for (Bound bound : chunk.bounds) {
+            if (bound.isInRegion(x, y, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a block is within any bound which has a protection flag enabled
+     * <p>For loaded chunks, chunks without any bound using this flag are skipped without any further checks.</p>
+     *
+     * @param block Block to check
+     * @param flag  Protection flag to check
+     * @return True if block is protected by this flag
+     */
+    public boolean isProtected(Block block, Bound.Flag flag) {
+        String world = block.getWorld().getName();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        ChunkBounds chunk = chunkCache.get(world, x >> 4, z >> 4);
+        if (chunk == null) {
+            for (Bound bound : boundIndex.getBounds(world, x, y, z)) {
+                if (bound.hasFlag(flag)) return true;
+            }
+            return false;
+        }
+        if ((chunk.flags & flag.getMask()) == 0) return false;
+        for (Bound bound : chunk.bounds) {
+            if (bound.hasFlag(flag) && bound.isInRegion(x, y, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compute the bounds of a chunk which has loaded
+     *
+     * @param chunk Chunk which loaded
+     */
+    public void loadChunk(Chunk chunk) {
+        chunkCache.load(chunk);
+    }
+
+    /**
+     * Drop the bounds of a chunk which has unloaded
+     *
+     * @param chunk Chunk which unloaded
+     */
+    public void unloadChunk(Chunk chunk) {
+        chunkCache.unload(chunk);
+    }
+
+    /**
+     * Drop the bounds of all chunks in a world which has unloaded
+     *
+     * @param world Name of world
+     */
+    public void unloadWorld(String world) {
+        chunkCache.unloadWorld(world);
+    }
+
+    /**
+     * Get all bounds intersecting a cuboid
+     * <p>Corners do not need to be sorted</p>
+     *
+     * @param world World of cuboid
+     * @param x1    x coord of 1st corner
+     * @param y1    y coord of 1st corner
+     * @param z1    z coord of 1st corner
+     * @param x2    x coord of 2nd corner
+     * @param y2    y coord of 2nd corner
+     * @param z2    z coord of 2nd corner
+     * @return List of bounds intersecting the cuboid
+     */
+    public List<Bound> getBoundsIntersecting(String world, int x1, int y1, int z1, int x2, int y2, int z2) {
+        return boundIndex.getBounds(world, Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+                Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2));
+    }
+
+    /**
+     * Get all other bounds intersecting a bound
+     *
+     * @param bound Bound to check
+     * @return List of bounds intersecting the bound, not including the bound itself
+     */
+    public List<Bound> getBoundsIntersecting(Bound bound) {
+        List<Bound> bounds = getBoundsIntersecting(bound.getWorldString(), bound.getLesserX(), bound.getLesserY(),
+                bound.getLesserZ(), bound.getGreaterX(), bound.getGreaterY(), bound.getGreaterZ());
+        bounds.removeIf(other -> other.getId().equals(bound.getId()));
+        return bounds;
+    }
+
+    /**
+     * Get all bounds within a radius of a location
+     * <p>The distance is measured to the closest point of each bound</p>
+     *
+     * @param location Center location
+     * @param radius   Radius to check
+     * @return List of bounds within radius
+     */
+    public List<Bound> getBoundsInRadius(Location location, double radius) {
+        World world = location.getWorld();
+        if (world == null || radius < 0) return new ArrayList<>();
+        return boundIndex.getBounds(world.getName(), location.getX(), location.getY(), location.getZ(), radius);
+    }
+
+    /**
+     * Get the nearest bounds to a location
+     * <p>The distance is measured to the closest point of each bound</p>
+     *
+     * @param location Location to check
+     * @param amount   Max amount of bounds to get
+     * @return List of bounds sorted by distance, closest first
+     */
+    public List<Bound> getNearestBounds(Location location, int amount) {
+        World world = location.getWorld();
+        if (world == null) return new ArrayList<>();
+        return boundIndex.getNearestBounds(world.getName(), location.getX(), location.getY(), location.getZ(), amount);
+    }
+
 }
@@ -0,0 +1,402 @@
+package tk.shanebee.bee.elements.bound.config;
+
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Per world, chunk keyed grid of {@link Bound bounds}
+ * <p>Bounds are partitioned by world, so a lookup never touches bounds in other worlds.
+ * Within a world, each bound is stored in every chunk cell it overlaps, so a lookup only has to
+ * test the bounds in a single cell rather than every bound in the world.
+ * Bounds spanning more than {@link #MAX_CELLS} chunks are kept in a separate per world
+ * list to prevent huge bounds from flooding the grid.</p>
+ */
+class BoundIndex {
+
+    /**
+     * Max amount of chunk cells a bound is stored in, larger bounds are kept in a separate list
+     * <p>Shared with {@link PublishedBounds} so both indexes partition bounds the same way.</p>
+     */
+    static final int MAX_CELLS = 4096;
+
+    private final Map<String, WorldIndex> worlds = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Add a bound to this index
+     * <p>If a bound with the same ID is already indexed, it will be replaced</p>
+     *
+     * @param bound Bound to add
+     */
+    void add(Bound bound) {
+        remove(bound.getId());
+        Entry entry = new Entry(bound);
+        entries.put(bound.getId(), entry);
+        worlds.computeIfAbsent(entry.world, k -> new WorldIndex()).add(entry);
+    }
+
+    /**
+     * Remove a bound from this index
+     *
+     * @param id ID of bound to remove
+     */
+    void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) return;
+        WorldIndex worldIndex = worlds.get(entry.world);
+        if (worldIndex == null) return;
+        worldIndex.remove(entry);
+        if (worldIndex.bounds.isEmpty()) worlds.remove(entry.world);
+    }
+
+    /**
+     * Re-index a bound after its coordinates have changed
+     *
+     * @param bound Bound to update
+     */
+    void update(Bound bound) {
+        add(bound);
+    }
+
+    /**
+     * Get all bounds in a world
+     *
+     * @param world World name
+     * @return Unmodifiable collection of bounds in this world
+     */
+    Collection<Bound> getBounds(String world) {
+        WorldIndex worldIndex = worlds.get(world);
+        if (worldIndex == null) return Collections.emptySet();
+        return Collections.unmodifiableSet(worldIndex.bounds);
+    }
+
+    /**
+     * Get all bounds containing a block position
+     *
+     * @param world World name
+     * @param x     Block x coord
+     * @param y     Block y coord
+     * @param z     Block z coord
+     * @return List of bounds containing this position
+     */
+    List<Bound> getBounds(String world, int x, int y, int z) {
+        List<Bound> found = new ArrayList<>();
+        WorldIndex worldIndex = worlds.get(world);
+        if (worldIndex == null) return found;
+        List<Bound> cell = worldIndex.cells.get(getKey(x >> 4, z >> 4));
+        if (cell != null) {
+            for (Bound bound : cell) {
+                if (bound.isInRegion(x, y, z)) {
+                    found.add(bound);
+                }
+            }
+        }
+        for (Bound bound : worldIndex.largeBounds) {
+            if (bound.isInRegion(x, y, z)) {
+                found.add(bound);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get all bounds intersecting a cuboid
+     * <p>Coordinates are inclusive block coordinates and must be sorted</p>
+     *
+     * @param world World name
+     * @param minX  Lesser x coord
+     * @param minY  Lesser y coord
+     * @param minZ  Lesser z coord
+     * @param maxX  Greater x coord
+     * @param maxY  Greater y coord
+     * @param maxZ  Greater z coord
+     * @return List of bounds intersecting the cuboid
+     */
+    List<Bound> getBounds(String world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        List<Bound> found = new ArrayList<>();
+        WorldIndex worldIndex = worlds.get(world);
+        if (worldIndex == null) return found;
+        int cMinX = minX >> 4;
+        int cMinZ = minZ >> 4;
+        int cMaxX = maxX >> 4;
+        int cMaxZ = maxZ >> 4;
+        if ((long) (cMaxX - cMinX + 1) * (cMaxZ - cMinZ + 1) > worldIndex.bounds.size()) {
+            // Fewer bounds than cells in the area, just check each bound once
+            for (Bound bound : worldIndex.bounds) {
+                if (intersects(bound, minX, minY, minZ, maxX, maxY, maxZ)) {
+                    found.add(bound);
+                }
+            }
+            return found;
+        }
+        Set<Bound> checked = new HashSet<>();
+        for (int cx = cMinX; cx <= cMaxX; cx++) {
+            for (int cz = cMinZ; cz <= cMaxZ; cz++) {
+                List<Bound> cell = worldIndex.cells.get(getKey(cx, cz));
+                if (cell == null) continue;
+                for (Bound bound : cell) {
+                    if (checked.add(bound) && intersects(bound, minX, minY, minZ, maxX, maxY, maxZ)) {
+                        found.add(bound);
+                    }
+                }
+            }
+        }
+        for (Bound bound : worldIndex.largeBounds) {
+            if (intersects(bound, minX, minY, minZ, maxX, maxY, maxZ)) {
+                found.add(bound);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get all bounds within a radius of a position
+     * <p>The distance is measured to the closest point of each bound</p>
+     *
+     * @param world  World name
+     * @param x      X coord
+     * @param y      Y coord
+     * @param z      Z coord
+     * @param radius Radius to check
+     * @return List of bounds within radius
+     */
+    List<Bound> getBounds(String world, double x, double y, double z, double radius) {
+        List<Bound> candidates = getBounds(world, floor(x - radius), floor(y - radius), floor(z - radius),
+                floor(x + radius), floor(y + radius), floor(z + radius));
+        List<Bound> found = new ArrayList<>(candidates.size());
+        double radiusSquared = radius * radius;
+        for (Bound bound : candidates) {
+            if (distanceSquared(bound, x, y, z) <= radiusSquared) {
+                found.add(bound);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get the nearest bounds to a position
+     * <p>The distance is measured to the closest point of each bound.
+     * Cells are searched in rings around the position until no closer bound can be found.</p>
+     *
+     * @param world  World name
+     * @param x      X coord
+     * @param y      Y coord
+     * @param z      Z coord
+     * @param amount Max amount of bounds to get
+     * @return List of bounds sorted by distance, closest first
+     */
+    List<Bound> getNearestBounds(String world, double x, double y, double z, int amount) {
+        WorldIndex worldIndex = worlds.get(world);
+        if (amount <= 0 || worldIndex == null) return new ArrayList<>();
+        // Max heap, farthest candidate on top
+        // Capacity is capped by the bounds in this world, amount is only used as the limit
+        PriorityQueue<Nearest> nearest = new PriorityQueue<>(Math.min(amount, worldIndex.bounds.size()) + 1,
+                Comparator.comparingDouble((Nearest n) -> n.distance).reversed());
+        for (Bound bound : worldIndex.largeBounds) {
+            offer(nearest, bound, x, y, z, amount);
+        }
+
+        int total = worldIndex.bounds.size() - worldIndex.largeBounds.size();
+        int centerX = floor(x) >> 4;
+        int centerZ = floor(z) >> 4;
+        Set<Bound> checked = new HashSet<>();
+        for (int ring = 0; checked.size() < total; ring++) {
+            if ((long) (ring * 2 + 1) * (ring * 2 + 1) > 4L * total + 64) {
+                // Bounds are sparse around this position, fall back to checking the rest directly
+                for (List<Bound> cell : worldIndex.cells.values()) {
+                    for (Bound bound : cell) {
+                        if (checked.add(bound)) {
+                            offer(nearest, bound, x, y, z, amount);
+                        }
+                    }
+                }
+                break;
+            }
+            for (int cx = centerX - ring; cx <= centerX + ring; cx++) {
+                // Only the outline of the ring, inner cells were checked by previous rings
+                boolean edge = cx == centerX - ring || cx == centerX + ring;
+                for (int cz = centerZ - ring; cz <= centerZ + ring; cz += edge ? 1 : ring * 2) {
+                    List<Bound> cell = worldIndex.cells.get(getKey(cx, cz));
+                    if (cell == null) continue;
+                    for (Bound bound : cell) {
+                        if (checked.add(bound)) {
+                            offer(nearest, bound, x, y, z, amount);
+                        }
+                    }
+                }
+            }
+            // Any cell beyond this ring is at least this far away horizontally
+            double ringDistance = ring * 16.0;
+            if (nearest.size() == amount && nearest.peek().distance <= ringDistance * ringDistance) {
+                break;
+            }
+        }
+
+        List<Bound> found = new ArrayList<>(nearest.size());
+        while (!nearest.isEmpty()) {
+            found.add(nearest.poll().bound);
+        }
+        Collections.reverse(found);
+        return found;
+    }
+
+    private static void offer(PriorityQueue<Nearest> nearest, Bound bound, double x, double y, double z, int amount) {
+        double distance = distanceSquared(bound, x, y, z);
+        if (nearest.size() < amount) {
+            nearest.add(new Nearest(bound, distance));
+        } else if (distance < nearest.peek().distance) {
+            nearest.poll();
+            nearest.add(new Nearest(bound, distance));
+        }
+    }
+
+    private static boolean intersects(Bound bound, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return bound.getLesserX() <= maxX && bound.getGreaterX() >= minX &&
+                bound.getLesserY() <= maxY && bound.getGreaterY() >= minY &&
+                bound.getLesserZ() <= maxZ && bound.getGreaterZ() >= minZ;
+    }
+
+    // Squared distance to the closest point of the full block volume of a bound
+    private static double distanceSquared(Bound bound, double x, double y, double z) {
+        double dx = axisDistance(x, bound.getLesserX(), bound.getGreaterX() + 1);
+        double dy = axisDistance(y, bound.getLesserY(), bound.getGreaterY() + 1);
+        double dz = axisDistance(z, bound.getLesserZ(), bound.getGreaterZ() + 1);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double axisDistance(double value, double min, double max) {
+        if (value < min) return min - value;
+        if (value > max) return value - max;
+        return 0;
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+
+    /**
+     * Clear all bounds from this index
+     */
+    void clear() {
+        worlds.clear();
+        entries.clear();
+    }
+
+    static long getKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Check if an area of chunks is too large to be stored in chunk cells
+     *
+     * @param minChunkX Min chunk x coord
+     * @param minChunkZ Min chunk z coord
+     * @param maxChunkX Max chunk x coord
+     * @param maxChunkZ Max chunk z coord
+     * @return True if the area spans more than {@link #MAX_CELLS} chunks
+     */
+    static boolean isLarge(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        return (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > MAX_CELLS;
+    }
+
+    /**
+     * Visit the key of each chunk cell in an area
+     *
+     * @param minChunkX Min chunk x coord
+     * @param minChunkZ Min chunk z coord
+     * @param maxChunkX Max chunk x coord
+     * @param maxChunkZ Max chunk z coord
+     * @param consumer  Consumer of each cell key
+     */
+    static void forEachCell(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, LongConsumer consumer) {
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                consumer.accept(getKey(cx, cz));
+            }
+        }
+    }
+
+    // All indexed bounds of a single world
+    private static class WorldIndex {
+
+        private final Set<Bound> bounds = new LinkedHashSet<>();
+        private final Map<Long, List<Bound>> cells = new HashMap<>();
+        private final List<Bound> largeBounds = new ArrayList<>();
+
+        private void add(Entry entry) {
+            bounds.add(entry.bound);
+            if (entry.isLarge()) {
+                largeBounds.add(entry.bound);
+                return;
+            }
+            forEachCell(entry.minX, entry.minZ, entry.maxX, entry.maxZ,
+                    key -> cells.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry.bound));
+        }
+
+        private void remove(Entry entry) {
+            bounds.remove(entry.bound);
+            if (entry.isLarge()) {
+                largeBounds.remove(entry.bound);
+                return;
+            }
+            forEachCell(entry.minX, entry.minZ, entry.maxX, entry.maxZ, key -> {
+                List<Bound> cell = cells.get(key);
+                if (cell == null) return;
+                cell.remove(entry.bound);
+                if (cell.isEmpty()) cells.remove(key);
+            });
+        }
+
+    }
+
+    private static class Nearest {
+
+        private final Bound bound;
+        private final double distance;
+
+        private Nearest(Bound bound, double distance) {
+            this.bound = bound;
+            this.distance = distance;
+        }
+
+    }
+
+    private static class Entry {
+
+        private final Bound bound;
+        private final String world;
+        private final int minX, minZ, maxX, maxZ;
+
+        private Entry(Bound bound) {
+            this.bound = bound;
+            this.world = bound.getWorldString();
+            // Setters do not sort the corners, so make sure we index the full area
+            int x1 = bound.getLesserX() >> 4;
+            int x2 = bound.getGreaterX() >> 4;
+            int z1 = bound.getLesserZ() >> 4;
+            int z2 = bound.getGreaterZ() >> 4;
+            this.minX = Math.min(x1, x2);
+            this.maxX = Math.max(x1, x2);
+            this.minZ = Math.min(z1, z2);
+            this.maxZ = Math.max(z1, z2);
+        }
+
+        private boolean isLarge() {
+            return BoundIndex.isLarge(minX, minZ, maxX, maxZ);
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package tk.shanebee.bee.elements.bound.config;
+
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Backend used by {@link BoundConfig} to load and save bounds
+ */
+interface BoundStorage {
+
+    /**
+     * Load all bounds from storage
+     *
+     * @return All stored bounds
+     * @throws IOException If the storage could not be read
+     */
+    Collection<Bound> loadBounds() throws IOException;
+
+    /**
+     * Check if the next save requires a copy of every bound
+     * <p>This is called on the main thread before a save is queued.</p>
+     *
+     * @return True if {@link #saveBounds(Collection, Map)} needs all bounds
+     */
+    boolean requiresAllBounds();
+
+    /**
+     * Save bounds to storage
+     * <p>This may be called off the main thread, all bounds passed in are copies.</p>
+     *
+     * @param bounds  Copies of all bounds, or null if {@link #requiresAllBounds()} was false
+     * @param changes Bounds changed since the last save, mapped by ID. A null value means the bound was removed
+     * @throws IOException If the storage could not be written
+     */
+    void saveBounds(Collection<Bound> bounds, Map<String, Bound> changes) throws IOException;
+
+}
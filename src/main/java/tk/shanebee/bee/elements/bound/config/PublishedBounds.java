@@ -0,0 +1,248 @@
+package tk.shanebee.bee.elements.bound.config;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.objects.ImmutableBound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable view of all bounds at a point in time
+ * <p>A new view is published by {@link BoundConfig} whenever bounds change, it is never modified after.
+ * This allows any thread to query bounds without locking, while the main thread keeps ownership of
+ * the mutable {@link Bound bounds}. Get the latest view with {@link BoundConfig#getPublishedBounds()}.</p>
+ */
+public final class PublishedBounds {
+
+    private static final ImmutableBound[] EMPTY = new ImmutableBound[0];
+
+    private final Map<String, ImmutableBound> boundsById;
+    private final Map<String, WorldBounds> worlds;
+
+    private PublishedBounds(Map<String, ImmutableBound> boundsById, Map<String, WorldBounds> worlds) {
+        this.boundsById = boundsById;
+        this.worlds = worlds;
+    }
+
+    /**
+     * Create a view of all bounds
+     * <p>Must be called on the main thread</p>
+     *
+     * @param bounds All bounds, mapped by ID
+     * @return New view
+     */
+    static PublishedBounds create(Map<String, Bound> bounds) {
+        return new PublishedBounds(Collections.emptyMap(), Collections.emptyMap()).update(bounds.keySet(), bounds);
+    }
+
+    /**
+     * Create a new view with some bounds changed
+     * <p>Must be called on the main thread. Unchanged bounds are shared with this view,
+     * and only the worlds of changed bounds are updated.</p>
+     *
+     * @param ids    IDs of bounds added, changed or removed since this view
+     * @param bounds All current bounds, mapped by ID
+     * @return New view
+     */
+    PublishedBounds update(Collection<String> ids, Map<String, Bound> bounds) {
+        Map<String, ImmutableBound> byId = new HashMap<>(boundsById);
+        Map<String, List<ImmutableBound>> removed = new HashMap<>();
+        Map<String, List<ImmutableBound>> added = new HashMap<>();
+        for (String id : ids) {
+            ImmutableBound old = byId.remove(id);
+            if (old != null) {
+                removed.computeIfAbsent(old.getWorldString(), k -> new ArrayList<>()).add(old);
+            }
+            Bound bound = bounds.get(id);
+            if (bound != null) {
+                ImmutableBound copy = new ImmutableBound(bound);
+                byId.put(id, copy);
+                added.computeIfAbsent(copy.getWorldString(), k -> new ArrayList<>()).add(copy);
+            }
+        }
+
+        Set<String> changedWorlds = new HashSet<>(removed.keySet());
+        changedWorlds.addAll(added.keySet());
+        Map<String, WorldBounds> worlds = new HashMap<>(this.worlds);
+        for (String world : changedWorlds) {
+            WorldBounds worldBounds = WorldBounds.update(this.worlds.get(world),
+                    removed.getOrDefault(world, Collections.emptyList()), added.getOrDefault(world, Collections.emptyList()));
+            if (worldBounds.bounds.length == 0) {
+                worlds.remove(world);
+            } else {
+                worlds.put(world, worldBounds);
+            }
+        }
+        return new PublishedBounds(Collections.unmodifiableMap(byId), worlds);
+    }
+
+    /**
+     * Get a bound by ID
+     *
+     * @param id ID of bound
+     * @return Bound with this ID, or null if none exists
+     */
+    public ImmutableBound getBound(String id) {
+        return boundsById.get(id);
+    }
+
+    /**
+     * Get all bounds
+     *
+     * @return Unmodifiable collection of all bounds
+     */
+    public Collection<ImmutableBound> getBounds() {
+        return boundsById.values();
+    }
+
+    /**
+     * Get all bounds in a world
+     *
+     * @param world Name of world
+     * @return Unmodifiable list of bounds in this world
+     */
+    public List<ImmutableBound> getBounds(String world) {
+        WorldBounds worldBounds = worlds.get(world);
+        if (worldBounds == null) return Collections.emptyList();
+        return Collections.unmodifiableList(Arrays.asList(worldBounds.bounds));
+    }
+
+    /**
+     * Get all bounds containing a block position
+     *
+     * @param world Name of world
+     * @param x     Block x coord
+     * @param y     Block y coord
+     * @param z     Block z coord
+     * @return List of bounds containing this position
+     */
+    public List<ImmutableBound> getBoundsAt(String world, int x, int y, int z) {
+        List<ImmutableBound> found = new ArrayList<>();
+        WorldBounds worldBounds = worlds.get(world);
+        if (worldBounds == null) return found;
+        ImmutableBound[] cell = worldBounds.cells.get(BoundIndex.getKey(x >> 4, z >> 4));
+        if (cell != null) {
+            for (ImmutableBound bound : cell) {
+                if (bound.isInRegion(x, y, z)) {
+                    found.add(bound);
+                }
+            }
+        }
+        for (ImmutableBound bound : worldBounds.largeBounds) {
+            if (bound.isInRegion(x, y, z)) {
+                found.add(bound);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get all bounds at a location
+     *
+     * @param location Location to check
+     * @return List of bounds containing this location
+     */
+    public List<ImmutableBound> getBoundsAt(Location location) {
+        World world = location.getWorld();
+        if (world == null) return new ArrayList<>();
+        return getBoundsAt(world.getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Get the amount of bounds
+     *
+     * @return Amount of bounds
+     */
+    public int size() {
+        return boundsById.size();
+    }
+
+    // Immutable partition of a single world, shared between views until a bound in this world changes
+    private static final class WorldBounds {
+
+        private final ImmutableBound[] bounds;
+        private final Map<Long, ImmutableBound[]> cells;
+        private final ImmutableBound[] largeBounds;
+
+        private WorldBounds(ImmutableBound[] bounds, Map<Long, ImmutableBound[]> cells, ImmutableBound[] largeBounds) {
+            this.bounds = bounds;
+            this.cells = cells;
+            this.largeBounds = largeBounds;
+        }
+
+        // Copy a partition with some bounds removed/added, only the cells of those bounds are rebuilt
+        private static WorldBounds update(WorldBounds previous, List<ImmutableBound> removed, List<ImmutableBound> added) {
+            Set<ImmutableBound> removedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            removedSet.addAll(removed);
+            List<ImmutableBound> bounds = new ArrayList<>();
+            List<ImmutableBound> large = new ArrayList<>();
+            Map<Long, ImmutableBound[]> cells;
+            if (previous != null) {
+                for (ImmutableBound bound : previous.bounds) {
+                    if (!removedSet.contains(bound)) bounds.add(bound);
+                }
+                for (ImmutableBound bound : previous.largeBounds) {
+                    if (!removedSet.contains(bound)) large.add(bound);
+                }
+                cells = new HashMap<>(previous.cells);
+            } else {
+                cells = new HashMap<>();
+            }
+            bounds.addAll(added);
+
+            for (ImmutableBound bound : removed) {
+                if (isLarge(bound)) continue;
+                forEachCell(bound, key -> {
+                    ImmutableBound[] cell = cells.get(key);
+                    if (cell == null) return;
+                    List<ImmutableBound> remaining = new ArrayList<>(cell.length);
+                    for (ImmutableBound cellBound : cell) {
+                        if (cellBound != bound) remaining.add(cellBound);
+                    }
+                    if (remaining.isEmpty()) {
+                        cells.remove(key);
+                    } else {
+                        cells.put(key, remaining.toArray(EMPTY));
+                    }
+                });
+            }
+            Map<Long, List<ImmutableBound>> addedCells = new HashMap<>();
+            for (ImmutableBound bound : added) {
+                if (isLarge(bound)) {
+                    large.add(bound);
+                    continue;
+                }
+                forEachCell(bound, key -> addedCells.computeIfAbsent(key, k -> new ArrayList<>(1)).add(bound));
+            }
+            addedCells.forEach((key, list) -> {
+                ImmutableBound[] cell = cells.get(key);
+                if (cell != null) list.addAll(0, Arrays.asList(cell));
+                cells.put(key, list.toArray(EMPTY));
+            });
+            return new WorldBounds(bounds.toArray(EMPTY), cells, large.toArray(EMPTY));
+        }
+
+        private static boolean isLarge(ImmutableBound bound) {
+            return BoundIndex.isLarge(bound.getLesserX() >> 4, bound.getLesserZ() >> 4,
+                    bound.getGreaterX() >> 4, bound.getGreaterZ() >> 4);
+        }
+
+        private static void forEachCell(ImmutableBound bound, LongConsumer consumer) {
+            BoundIndex.forEachCell(bound.getLesserX() >> 4, bound.getLesserZ() >> 4,
+                    bound.getGreaterX() >> 4, bound.getGreaterZ() >> 4, consumer);
+        }
+
+    }
+
+}
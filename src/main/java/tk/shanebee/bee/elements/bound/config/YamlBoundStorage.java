@@ -0,0 +1,71 @@
+package tk.shanebee.bee.elements.bound.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores bounds in the human readable bounds.yml file
+ */
+class YamlBoundStorage implements BoundStorage {
+
+    private final SkBee plugin;
+    private final File boundFile;
+
+    YamlBoundStorage(SkBee plugin) {
+        this.plugin = plugin;
+        this.boundFile = new File(plugin.getDataFolder(), "bounds.yml");
+    }
+
+    @Override
+    public Collection<Bound> loadBounds() {
+        if (!boundFile.exists()) {
+            plugin.saveResource("bounds.yml", false);
+        }
+        FileConfiguration boundConfig = YamlConfiguration.loadConfiguration(boundFile);
+        List<Bound> bounds = new ArrayList<>();
+        ConfigurationSection section = boundConfig.getConfigurationSection("bounds");
+        if (section == null) return bounds;
+        for (String string : section.getKeys(true)) {
+            if (section.get(string) instanceof Bound) {
+                bounds.add((Bound) section.get(string));
+            }
+        }
+        return bounds;
+    }
+
+    @Override
+    public boolean requiresAllBounds() {
+        return true;
+    }
+
+    @Override
+    public void saveBounds(Collection<Bound> bounds, Map<String, Bound> changes) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.options().header("This file will save all bounds");
+        config.createSection("bounds");
+        for (Bound bound : bounds) {
+            config.set("bounds." + bound.getId(), bound);
+        }
+        config.save(boundFile);
+    }
+
+    /**
+     * Check if the yaml file exists
+     *
+     * @return True if bounds.yml exists
+     */
+    boolean exists() {
+        return boundFile.exists();
+    }
+
+}
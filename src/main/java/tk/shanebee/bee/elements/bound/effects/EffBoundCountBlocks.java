@@ -0,0 +1,93 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.classes.Changer.ChangeMode;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.effects.base.WaitingEffect;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BoundScanner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Name("Bound - Count Blocks")
+@Description({"Count the blocks of each type (or each block data) within a bound, and store the result in a list variable. ",
+        "The list is indexed by type (ex: 'stone') or block data (ex: 'minecraft:oak_stairs[facing=north,...]'), ",
+        "and each value is the amount of blocks. Only types found in the bound are stored. ",
+        "Blocks are counted off the main thread, so large bounds will not freeze the server. ",
+        "The rest of the trigger waits until counting is done."})
+@Examples({"count block types in bound {arena} and store the result in {_counts::*}",
+        "send \"Gold blocks: %{_counts::gold_block} ? 0%\"",
+        "loop {_counts::*}:", "\tsend \"%loop-index%: %loop-value%\"",
+        "count block data in bound {contest::%player%} and store the result in {_data::*}"})
+@Since("1.6.0")
+public class EffBoundCountBlocks extends WaitingEffect<Map<String, Long>> {
+
+    static {
+        Skript.registerEffect(EffBoundCountBlocks.class,
+                "count [the] (block types|materials|1¦block data) (in|within) [bound] %bound% and store (them|the result) in %objects%");
+    }
+
+    private Expression<Bound> bound;
+    private Variable<?> variable;
+    private boolean blockData;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.bound = (Expression<Bound>) exprs[0];
+        if (!(exprs[1] instanceof Variable) || !((Variable<?>) exprs[1]).isList()) {
+            Skript.error("The result of counting blocks can only be stored in a list variable, ex: {_counts::*}");
+            return false;
+        }
+        this.variable = (Variable<?>) exprs[1];
+        this.blockData = parseResult.mark == 1;
+        setDelayed();
+        return true;
+    }
+
+    @Override
+    protected CompletableFuture<Map<String, Long>> start(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null) return null;
+        if (blockData) {
+            return BoundScanner.countBlockData(bound).thenApply(counts -> {
+                Map<String, Long> result = new HashMap<>();
+                counts.forEach((data, count) -> result.put(data.getAsString(), count));
+                return result;
+            });
+        }
+        return BoundScanner.countMaterials(bound).thenApply(counts -> {
+            Map<String, Long> result = new HashMap<>();
+            counts.forEach((material, count) -> result.put(material.name().toLowerCase(), count));
+            return result;
+        });
+    }
+
+    @Override
+    protected void complete(Event event, Map<String, Long> result) {
+        this.variable.change(event, null, ChangeMode.DELETE);
+        String name = this.variable.getName().toString(event);
+        // Strip the trailing '*' of the list name
+        String prefix = name.substring(0, name.length() - 1);
+        boolean local = this.variable.isLocal();
+        result.forEach((key, count) -> Variables.setVariable(prefix + key, count, event, local));
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return "count " + (blockData ? "block data" : "block types") + " within bound " + bound.toString(e, d) +
+                " and store the result in " + variable.toString(e, d);
+    }
+
+}
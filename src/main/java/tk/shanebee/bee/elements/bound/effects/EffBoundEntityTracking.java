@@ -0,0 +1,59 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BoundEntityTracker;
+
+@Name("Bound - Entity Tracking")
+@Description({"Start/stop tracking non-player entities (mobs, minecarts, boats, projectiles, etc) entering and exiting a bound. ",
+        "While tracked, the 'bound entity enter' and 'bound entity exit' events will be called for this bound. ",
+        "Entities are checked on an interval (see 'entity-track-interval' in the config) and only near the edges of the bound. ",
+        "Tracking is not saved and will stop on restart."})
+@Examples({"on load:", "\tstart tracking entities in bound {race::track}", "",
+        "on bound entity enter:", "\tif event-bound = {race::track}:", "\t\tbroadcast \"A minecart has entered the track!\""})
+@Since("1.6.0")
+public class EffBoundEntityTracking extends Effect {
+
+    static {
+        Skript.registerEffect(EffBoundEntityTracking.class,
+                "(start|enable) tracking [of] entities (in|within|of) [bound] %bounds%",
+                "(stop|disable) tracking [of] entities (in|within|of) [bound] %bounds%");
+    }
+
+    private Expression<Bound> bounds;
+    private boolean start;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.bounds = (Expression<Bound>) exprs[0];
+        this.start = matchedPattern == 0;
+        return true;
+    }
+
+    @Override
+    protected void execute(Event event) {
+        for (Bound bound : this.bounds.getArray(event)) {
+            if (start) {
+                BoundEntityTracker.start(bound);
+            } else {
+                BoundEntityTracker.stop(bound);
+            }
+        }
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return (start ? "start" : "stop") + " tracking entities in bound " + bounds.toString(e, d);
+    }
+
+}
@@ -0,0 +1,92 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.ItemData;
+import ch.njol.skript.aliases.ItemType;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.effects.base.WaitingEffect;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BlockChangeTask;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@Name("Bound - Fill/Replace")
+@Description({"Fill all blocks in a bound with a block, or replace only blocks of certain types. ",
+        "Blocks are changed chunk section by chunk section, limited to a max time per tick (see 'tick-budget' in the config), ",
+        "so large bounds will not freeze the server. The rest of the trigger waits until all blocks have been changed. ",
+        "Optionally skip physics updates for changed blocks. See the bound block change progress expression to check progress."})
+@Examples({"fill bound {arena} with stone",
+        "fill bound {arena} with air without physics",
+        "replace stone and dirt in bound {arena} with grass_block[snowy=true]",
+        "broadcast \"Arena reset complete!\""})
+@Since("1.6.0")
+public class EffBoundFill extends WaitingEffect<Void> {
+
+    static {
+        Skript.registerEffect(EffBoundFill.class,
+                "fill [bound] %bound% with %blockdata% [(1¦without physics)]",
+                "replace %itemtypes% (in|within) [bound] %bound% with %blockdata% [(1¦without physics)]");
+    }
+
+    private Expression<ItemType> replace;
+    private Expression<Bound> bound;
+    private Expression<BlockData> blockData;
+    private boolean physics;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        int offset = matchedPattern == 1 ? 1 : 0;
+        this.replace = matchedPattern == 1 ? (Expression<ItemType>) exprs[0] : null;
+        this.bound = (Expression<Bound>) exprs[offset];
+        this.blockData = (Expression<BlockData>) exprs[offset + 1];
+        this.physics = parseResult.mark != 1;
+        setDelayed();
+        return true;
+    }
+
+    @Override
+    protected CompletableFuture<Void> start(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        BlockData blockData = this.blockData.getSingle(event);
+        if (bound == null || blockData == null) return null;
+
+        Set<Material> materials = null;
+        if (this.replace != null) {
+            materials = EnumSet.noneOf(Material.class);
+            for (ItemType itemType : this.replace.getArray(event)) {
+                for (ItemData data : itemType.getTypes()) {
+                    materials.add(data.getType());
+                }
+            }
+            if (materials.isEmpty()) return null;
+        }
+        return BlockChangeTask.fill(bound, blockData, materials, physics).start();
+    }
+
+    @Override
+    protected void complete(Event event, Void result) {
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        String physics = this.physics ? "" : " without physics";
+        if (replace != null) {
+            return "replace " + replace.toString(e, d) + " in bound " + bound.toString(e, d) +
+                    " with " + blockData.toString(e, d) + physics;
+        }
+        return "fill bound " + bound.toString(e, d) + " with " + blockData.toString(e, d) + physics;
+    }
+
+}
@@ -0,0 +1,83 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.ItemData;
+import ch.njol.skript.aliases.ItemType;
+import ch.njol.skript.classes.Changer.ChangeMode;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.effects.base.WaitingEffect;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BoundScanner;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@Name("Bound - Find Blocks")
+@Description({"Find the locations of all blocks of certain types within a bound. ",
+        "The blocks are searched off the main thread, so large bounds will not freeze the server. ",
+        "The rest of the trigger waits until the search is done, then the locations are stored in the variable."})
+@Examples({"find locations of chests and trapped chests within bound {arena} and store them in {_chests::*}",
+        "loop {_chests::*}:", "\tset block at loop-value to air"})
+@Since("1.6.0")
+public class EffBoundFindBlocks extends WaitingEffect<List<Location>> {
+
+    static {
+        Skript.registerEffect(EffBoundFindBlocks.class,
+                "find [the] locations of %itemtypes% (in|within) [bound] %bound% and store (them|the result) in %objects%");
+    }
+
+    private Expression<ItemType> types;
+    private Expression<Bound> bound;
+    private Expression<?> variable;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.types = (Expression<ItemType>) exprs[0];
+        this.bound = (Expression<Bound>) exprs[1];
+        this.variable = exprs[2];
+        if (this.variable.acceptChange(ChangeMode.SET) == null) {
+            Skript.error(this.variable.toString(null, false) + " can not be set to locations");
+            return false;
+        }
+        setDelayed();
+        return true;
+    }
+
+    @Override
+    protected CompletableFuture<List<Location>> start(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null) return null;
+        Set<Material> materials = EnumSet.noneOf(Material.class);
+        for (ItemType itemType : this.types.getArray(event)) {
+            for (ItemData data : itemType.getTypes()) {
+                materials.add(data.getType());
+            }
+        }
+        if (materials.isEmpty()) return null;
+        return BoundScanner.findBlocks(bound, materials);
+    }
+
+    @Override
+    protected void complete(Event event, List<Location> result) {
+        this.variable.change(event, result.toArray(new Location[0]), ChangeMode.SET);
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return "find locations of " + types.toString(e, d) + " within bound " + bound.toString(e, d) +
+                " and store them in " + variable.toString(e, d);
+    }
+
+}
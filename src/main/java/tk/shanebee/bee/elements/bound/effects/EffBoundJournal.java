@@ -0,0 +1,91 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.effects.base.WaitingEffect;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.objects.BoundJournal;
+import tk.shanebee.bee.elements.bound.util.BlockChangeTask;
+
+import java.util.concurrent.CompletableFuture;
+
+@Name("Bound - Block Journal")
+@Description({"Record the original state of blocks changed within a bound (by players breaking/placing, explosions, fluids, ",
+        "pistons, falling blocks, fire, etc), then reset only those blocks rather than the entire bound. ",
+        "Only the first change of each block is recorded. Journals are not saved and will be lost on restart. ",
+        "Resetting is spread over multiple ticks (see 'tick-budget' in the config), the rest of the trigger waits until it is done. ",
+        "After a reset the journal is cleared and continues recording."})
+@Examples({"on bound enter:", "\tif event-bound = {arena}:", "\t\tstart journaling block changes in bound {arena}", "",
+        "command /resetarena:", "\ttrigger:", "\t\treset journaled blocks in bound {arena}",
+        "\t\tsend \"Arena has been reset!\"", "",
+        "stop journaling bound {arena}"})
+@Since("1.6.0")
+public class EffBoundJournal extends WaitingEffect<Void> {
+
+    static {
+        Skript.registerEffect(EffBoundJournal.class,
+                "start journaling [block changes (in|of)] [bound] %bound%",
+                "stop journaling [block changes (in|of)] [bound] %bound%",
+                "reset journaled blocks (in|of) [bound] %bound% [(1¦without physics)]");
+    }
+
+    private int pattern;
+    private Expression<Bound> bound;
+    private boolean physics;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.pattern = matchedPattern;
+        this.bound = (Expression<Bound>) exprs[0];
+        this.physics = parseResult.mark != 1;
+        if (matchedPattern == 2) {
+            setDelayed();
+        }
+        return true;
+    }
+
+    @Override
+    protected CompletableFuture<Void> start(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null) return null;
+        switch (pattern) {
+            case 0:
+                BoundJournal.start(bound);
+                return null;
+            case 1:
+                BoundJournal.stop(bound);
+                return null;
+            default:
+                BoundJournal journal = BoundJournal.getJournal(bound);
+                if (journal == null) return null;
+                BlockChangeTask task = journal.reset(physics);
+                if (task == null) return null;
+                return task.start();
+        }
+    }
+
+    @Override
+    protected void complete(Event event, Void result) {
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        switch (pattern) {
+            case 0:
+                return "start journaling block changes in bound " + bound.toString(e, d);
+            case 1:
+                return "stop journaling block changes in bound " + bound.toString(e, d);
+            default:
+                return "reset journaled blocks in bound " + bound.toString(e, d) + (physics ? "" : " without physics");
+        }
+    }
+
+}
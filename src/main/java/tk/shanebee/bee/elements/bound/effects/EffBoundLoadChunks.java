@@ -0,0 +1,99 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.effects.base.WaitingEffect;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BoundChunkLoader;
+import tk.shanebee.bee.elements.bound.util.BoundChunkLoader.Ticket;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Name("Bound - Load Chunks")
+@Description({"Load all chunks of a bound without freezing the server, and keep them loaded until released. ",
+        "On Paper chunks are loaded asynchronously, otherwise they are loaded a few at a time over multiple ticks. ",
+        "The rest of the trigger waits until all chunks are loaded. ",
+        "Use this before looping/changing all blocks of a far away bound. ",
+        "Bound fill/replace, snapshots, journal resets and block searches already load chunks this way on their own."})
+@Examples({"load chunks of bound {arena}",
+        "loop all blocks within bound {arena}:", "\tif loop-block is chest:", "\t\tclear inventory of loop-block",
+        "release chunks of bound {arena}"})
+@Since("1.6.0")
+public class EffBoundLoadChunks extends WaitingEffect<Ticket> {
+
+    private static final Map<String, Ticket> HELD = new HashMap<>();
+
+    static {
+        Skript.registerEffect(EffBoundLoadChunks.class,
+                "load [all] chunks (of|in|within) [bound] %bound%",
+                "release [all] [loaded] chunks (of|in|within) [bound] %bound%");
+    }
+
+    /**
+     * Release the chunks held for a bound by this effect
+     *
+     * @param boundId ID of bound to release chunks of
+     */
+    public static void release(String boundId) {
+        Ticket ticket = HELD.remove(boundId);
+        if (ticket != null) {
+            ticket.release();
+        }
+    }
+
+    private Expression<Bound> bound;
+    private boolean load;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.bound = (Expression<Bound>) exprs[0];
+        this.load = matchedPattern == 0;
+        if (load) {
+            setDelayed();
+        }
+        return true;
+    }
+
+    @Override
+    protected CompletableFuture<Ticket> start(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null) return null;
+        if (!load) {
+            release(bound.getId());
+            return null;
+        }
+        return BoundChunkLoader.load(bound).thenApply(ticket -> {
+            if (SkBee.getPlugin().getBoundConfig().getBoundFromID(bound.getId()) != bound) {
+                // Bound was deleted while its chunks were loading
+                ticket.release();
+                return ticket;
+            }
+            Ticket previous = HELD.put(bound.getId(), ticket);
+            if (previous != null) {
+                previous.release();
+            }
+            return ticket;
+        });
+    }
+
+    @Override
+    protected void complete(Event event, Ticket result) {
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return (load ? "load" : "release") + " chunks of bound " + bound.toString(e, d);
+    }
+
+}
@@ -0,0 +1,72 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.objects.Bound.Flag;
+
+@Name("Bound - Protection")
+@Description({"Protect/unprotect a bound from breaking, placing, explosions, fluid flow and/or pistons. ",
+        "Protections are handled natively and saved with the bound. Protected actions are cancelled after scripts ",
+        "have handled the event, so events such as 'on break' still run, but un-cancelling them has no effect. ",
+        "To let someone bypass a protection, unprotect the bound. ",
+        "Explosions still happen, only the blocks within protected bounds are left alone."})
+@Examples({"protect bound {spawn} from breaking",
+        "protect bound {spawn} from everything",
+        "unprotect bound {arena} from explosions",
+        "protect bound {farm} from fluid flow"})
+@Since("1.6.0")
+public class EffBoundProtection extends Effect {
+
+    private static final String FLAGS = "(1¦breaking|2¦placing|3¦explosions|4¦fluid flow|5¦pistons|6¦everything)";
+
+    static {
+        Skript.registerEffect(EffBoundProtection.class,
+                "protect [bound[s]] %bounds% (from|against) " + FLAGS,
+                "unprotect [bound[s]] %bounds% (from|against) " + FLAGS);
+    }
+
+    private Expression<Bound> bounds;
+    private boolean protect;
+    private Flag flag;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.bounds = (Expression<Bound>) exprs[0];
+        this.protect = matchedPattern == 0;
+        // null = everything
+        this.flag = parseResult.mark <= Flag.values().length ? Flag.values()[parseResult.mark - 1] : null;
+        return true;
+    }
+
+    @Override
+    protected void execute(Event event) {
+        for (Bound bound : this.bounds.getArray(event)) {
+            if (flag == null) {
+                int all = 0;
+                for (Flag flag : Flag.values()) {
+                    all |= flag.getMask();
+                }
+                bound.setFlags(protect ? all : 0);
+            } else {
+                bound.setFlag(flag, protect);
+            }
+        }
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        String flag = this.flag == null ? "everything" : this.flag.getName();
+        return (protect ? "protect" : "unprotect") + " bound " + bounds.toString(e, d) + " from " + flag;
+    }
+
+}
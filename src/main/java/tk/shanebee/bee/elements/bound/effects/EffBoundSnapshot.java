@@ -0,0 +1,123 @@
+package tk.shanebee.bee.elements.bound.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.util.Util;
+import tk.shanebee.bee.elements.bound.effects.base.WaitingEffect;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.objects.BoundSnapshot;
+import tk.shanebee.bee.elements.bound.util.BlockChangeTask;
+
+import java.util.concurrent.CompletableFuture;
+
+@Name("Bound - Block Snapshot")
+@Description({"Save a snapshot of all blocks in a bound, and restore it later (ex: resetting an arena). ",
+        "Snapshots are stored compactly in memory, or optionally in a file (in the 'snapshots' folder) which survives restarts. ",
+        "Restoring is spread over multiple ticks (see 'tick-budget' in the config) and will restore blocks to where they were saved. ",
+        "The rest of the trigger waits until saving/restoring is done. ",
+        "Snapshot names may only contain letters, numbers, underscores, dashes and periods."})
+@Examples({"save snapshot of bound {arena} named \"arena-1\"",
+        "save snapshot of bound {arena} named \"arena-1\" to file",
+        "restore snapshot \"arena-1\"", "restore snapshot \"arena-1\" without physics",
+        "delete snapshot \"arena-1\""})
+@Since("1.6.0")
+public class EffBoundSnapshot extends WaitingEffect<Void> {
+
+    static {
+        Skript.registerEffect(EffBoundSnapshot.class,
+                "(create|save) [a] [block] snapshot of [bound] %bound% (named|with id) %string% [(1¦to file)]",
+                "restore [block] snapshot %string% [(1¦without physics)]",
+                "delete [block] snapshot %string%");
+    }
+
+    private int pattern;
+    private Expression<Bound> bound;
+    private Expression<String> name;
+    private boolean flag;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean kleenean, ParseResult parseResult) {
+        this.pattern = matchedPattern;
+        if (matchedPattern == 0) {
+            this.bound = (Expression<Bound>) exprs[0];
+            this.name = (Expression<String>) exprs[1];
+        } else {
+            this.name = (Expression<String>) exprs[0];
+        }
+        this.flag = parseResult.mark == 1;
+        if (matchedPattern != 2) {
+            setDelayed();
+        }
+        return true;
+    }
+
+    @Override
+    protected CompletableFuture<Void> start(Event event) {
+        String name = this.name.getSingle(event);
+        if (name == null) return null;
+        if (!BoundSnapshot.isValidName(name)) {
+            Util.skriptError("Invalid snapshot name &b" + name);
+            return null;
+        }
+        switch (pattern) {
+            case 0:
+                Bound bound = this.bound.getSingle(event);
+                if (bound == null) return null;
+                return BoundSnapshot.capture(bound).thenCompose(snapshot -> BoundSnapshot.store(name, snapshot, flag));
+            case 1:
+                boolean physics = !flag;
+                // Continue on the main thread, blocks can only be changed there
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                BoundSnapshot.get(name).whenComplete((snapshot, throwable) -> Bukkit.getScheduler().runTask(SkBee.getPlugin(), () -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                        return;
+                    }
+                    BlockChangeTask task = snapshot != null ? snapshot.restore(physics) : null;
+                    if (task == null) {
+                        Util.skriptError("Snapshot &b" + name + "&c does not exist or its world is not loaded");
+                        future.complete(null);
+                        return;
+                    }
+                    task.start().whenComplete((v, ex) -> {
+                        if (ex != null) {
+                            future.completeExceptionally(ex);
+                        } else {
+                            future.complete(null);
+                        }
+                    });
+                }));
+                return future;
+            default:
+                BoundSnapshot.delete(name);
+                return null;
+        }
+    }
+
+    @Override
+    protected void complete(Event event, Void result) {
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        switch (pattern) {
+            case 0:
+                return "save snapshot of bound " + bound.toString(e, d) + " named " + name.toString(e, d) + (flag ? " to file" : "");
+            case 1:
+                return "restore snapshot " + name.toString(e, d) + (flag ? " without physics" : "");
+            default:
+                return "delete snapshot " + name.toString(e, d);
+        }
+    }
+
+}
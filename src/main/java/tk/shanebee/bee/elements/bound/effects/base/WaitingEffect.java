@@ -0,0 +1,90 @@
+package tk.shanebee.bee.elements.bound.effects.base;
+
+import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.effects.Delay;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.util.Util;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base for effects which run a long operation and wait for its result
+ * <p>The rest of the trigger is delayed until the operation completes,
+ * then continues on the main thread, much like Skript's wait effect.</p>
+ *
+ * @param <T> Result of the operation
+ */
+public abstract class WaitingEffect<T> extends Effect {
+
+    /**
+     * Start the operation
+     * <p>This is called on the main thread</p>
+     *
+     * @param event Current event
+     * @return Future result of the operation, or null to continue the trigger right away
+     */
+    protected abstract CompletableFuture<T> start(Event event);
+
+    /**
+     * Called on the main thread once the operation completed
+     *
+     * @param event  Current event
+     * @param result Result of the operation
+     */
+    protected abstract void complete(Event event, T result);
+
+    /**
+     * Mark the code after this effect as delayed
+     * <p>This should be called in init</p>
+     */
+    protected static void setDelayed() {
+        ScriptLoader.hasDelayBefore = Kleenean.TRUE;
+    }
+
+    @Override
+    protected void execute(Event event) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected TriggerItem walk(Event event) {
+        debug(event, true);
+        TriggerItem next = getNext();
+        CompletableFuture<T> future = start(event);
+        if (future == null) {
+            return next;
+        }
+        Delay.addDelayedEvent(event);
+        // Back up local variables, they are removed when the trigger returns
+        Object localVars = Variables.removeLocals(event);
+        SkBee plugin = SkBee.getPlugin();
+        future.whenComplete((result, throwable) -> {
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (localVars != null) {
+                    Variables.setLocalVariables(event, localVars);
+                }
+                if (throwable != null) {
+                    Util.skriptError("Failed to complete " + toString(event, false) + ": " + throwable.getMessage());
+                    if (plugin.getPluginConfig().SETTINGS_DEBUG) {
+                        throwable.printStackTrace();
+                    }
+                } else {
+                    complete(event, result);
+                }
+                if (next != null) {
+                    TriggerItem.walk(next, event);
+                }
+                Variables.removeLocals(event);
+            });
+        });
+        return null;
+    }
+
+}
@@ -4,8 +4,11 @@ import ch.njol.skript.Skript;
 import ch.njol.skript.lang.util.SimpleEvent;
 import ch.njol.skript.registrations.EventValues;
 import ch.njol.skript.util.Getter;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import tk.shanebee.bee.api.event.EnterBoundEvent;
+import tk.shanebee.bee.api.event.EntityEnterBoundEvent;
+import tk.shanebee.bee.api.event.EntityExitBoundEvent;
 import tk.shanebee.bee.api.event.ExitBoundEvent;
 import tk.shanebee.bee.elements.bound.objects.Bound;
 
@@ -46,6 +49,44 @@ public class SimpleEvents {
                 return event.getBound();
             }
         }, 0);
+
+
+        Skript.registerEvent("Bound - Entity Enter", SimpleEvent.class, EntityEnterBoundEvent.class, "bound entity enter")
+                .description("Called when a non-player entity enters a bound which has entity tracking enabled. " +
+                        "Entities are checked on an interval, so this may be called shortly after the entity entered the bound.")
+                .examples("on bound entity enter:", "\tif event-bound = {race::track}:", "\t\tbroadcast \"A minecart has entered the track!\"")
+                .since("1.6.0");
+        EventValues.registerEventValue(EntityEnterBoundEvent.class, Entity.class, new Getter<Entity, EntityEnterBoundEvent>() {
+            @Override
+            public Entity get(EntityEnterBoundEvent event) {
+                return event.getEntity();
+            }
+        }, 0);
+        EventValues.registerEventValue(EntityEnterBoundEvent.class, Bound.class, new Getter<Bound, EntityEnterBoundEvent>() {
+            @Override
+            public Bound get(EntityEnterBoundEvent event) {
+                return event.getBound();
+            }
+        }, 0);
+
+
+        Skript.registerEvent("Bound - Entity Exit", SimpleEvent.class, EntityExitBoundEvent.class, "bound entity exit")
+                .description("Called when a non-player entity exits a bound which has entity tracking enabled. " +
+                        "Entities are checked on an interval, so this may be called shortly after the entity exited the bound.")
+                .examples("on bound entity exit:", "\tif event-bound = {arena}:", "\t\tkill event-entity")
+                .since("1.6.0");
+        EventValues.registerEventValue(EntityExitBoundEvent.class, Entity.class, new Getter<Entity, EntityExitBoundEvent>() {
+            @Override
+            public Entity get(EntityExitBoundEvent event) {
+                return event.getEntity();
+            }
+        }, 0);
+        EventValues.registerEventValue(EntityExitBoundEvent.class, Bound.class, new Getter<Bound, EntityExitBoundEvent>() {
+            @Override
+            public Bound get(EntityExitBoundEvent event) {
+                return event.getBound();
+            }
+        }, 0);
     }
 
 }
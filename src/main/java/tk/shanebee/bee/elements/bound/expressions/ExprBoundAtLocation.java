@@ -47,21 +47,17 @@ public class ExprBoundAtLocation extends SimpleExpression<Object> {
             return null;
         }
         Location loc = this.location.getSingle(event);
+        if (loc == null) {
+            return null;
+        }
+        List<Bound> bounds = SkBee.getPlugin().getBoundConfig().getBoundsAt(loc);
         if (ID) {
             List<String> ids = new ArrayList<>();
-            for (Bound bound : SkBee.getPlugin().getBoundConfig().getBounds()) {
-                if (bound.isInRegion(loc)) {
-                    ids.add(bound.getId());
-                }
+            for (Bound bound : bounds) {
+                ids.add(bound.getId());
             }
             return ids.toArray(new String[0]);
         } else {
-            List<Bound> bounds = new ArrayList<>();
-            for (Bound bound : SkBee.getPlugin().getBoundConfig().getBounds()) {
-                if (bound.isInRegion(loc)) {
-                    bounds.add(bound);
-                }
-            }
             return bounds.toArray(new Bound[0]);
         }
     }
@@ -12,10 +12,11 @@ import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
 import org.bukkit.block.Block;
 import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.util.Util;
 import tk.shanebee.bee.elements.bound.objects.Bound;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
 
 @Name("Bound - Blocks")
 @Description("All the blocks within a bound")
@@ -41,8 +42,26 @@ public class ExprBoundBlocks extends SimpleExpression<Block> {
 
     @Override
     protected Block[] get(Event event) {
-        List<Block> list = new ArrayList<>(bound.getSingle(event).getBlocks());
-        return list.toArray(new Block[0]);
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null || !checkVolume(bound)) return null;
+        return bound.getBlocks().toArray(new Block[0]);
+    }
+
+    @Override
+    public Iterator<? extends Block> iterator(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null || !checkVolume(bound)) return null;
+        return bound.getBlockIterator();
+    }
+
+    private boolean checkVolume(Bound bound) {
+        long max = SkBee.getPlugin().getPluginConfig().SETTINGS_MAX_BLOCK_VOLUME;
+        long volume = bound.getVolume();
+        if (max > 0 && volume > max) {
+            Util.skriptError("Bound &b" + bound.getId() + "&c has &b" + volume + "&c blocks which exceeds the max block volume of &b" + max);
+            return false;
+        }
+        return true;
     }
 
     @Override
@@ -0,0 +1,40 @@
+package tk.shanebee.bee.elements.bound.expressions;
+
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.expressions.base.SimplePropertyExpression;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BlockChangeTask;
+
+@Name("Bound - Block Change Progress")
+@Description({"The progress (0-100) of blocks currently being changed in a bound, such as from the bound fill effect. ",
+        "Returns none if no blocks are currently being changed in this bound."})
+@Examples({"every second:", "\tset {_p} to block change progress of bound {arena}",
+        "\tif {_p} is set:", "\t\tsend action bar \"Resetting arena: %{_p}%%%\" to all players"})
+@Since("1.6.0")
+public class ExprBoundChangeProgress extends SimplePropertyExpression<Bound, Number> {
+
+    static {
+        register(ExprBoundChangeProgress.class, Number.class, "block change progress", "bounds");
+    }
+
+    @Override
+    public Number convert(Bound bound) {
+        BlockChangeTask task = BlockChangeTask.getTask(bound);
+        if (task == null) return null;
+        return Math.floor(task.getProgress() * 1000) / 10;
+    }
+
+    @Override
+    public Class<? extends Number> getReturnType() {
+        return Number.class;
+    }
+
+    @Override
+    protected String getPropertyName() {
+        return "block change progress";
+    }
+
+}
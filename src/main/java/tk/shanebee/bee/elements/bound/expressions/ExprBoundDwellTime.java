@@ -0,0 +1,94 @@
+package tk.shanebee.bee.elements.bound.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.classes.Changer.ChangeMode;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.util.Timespan;
+import ch.njol.util.Kleenean;
+import ch.njol.util.coll.CollectionUtils;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.listener.BoundBorderListener;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import javax.annotation.Nullable;
+
+@Name("Bound - Dwell Time")
+@Description({"Get the total time a player has spent in a bound. ",
+        "This is counted as players enter and exit bounds, so no bounds or players need to be checked on a timer. ",
+        "Times are kept until reset, and are not saved across restarts. ",
+        "Resetting while the player is in the bound will restart counting from now."})
+@Examples({"every minute:", "\tloop all players:",
+        "\t\tset {_time} to dwell time of loop-player in bound {afk-pool}",
+        "\t\tif {_time} >= 1 minute:", "\t\t\tadd 10 to {coins::%loop-player's uuid%}",
+        "\t\t\treset dwell time of loop-player in bound {afk-pool}"})
+@Since("1.6.0")
+public class ExprBoundDwellTime extends SimpleExpression<Timespan> {
+
+    static {
+        Skript.registerExpression(ExprBoundDwellTime.class, Timespan.class, ExpressionType.COMBINED,
+                "[the] [bound] dwell time of %offlineplayer% in [bound] %bound%",
+                "[the] time %offlineplayer% [has] spent in [bound] %bound%");
+    }
+
+    private Expression<OfflinePlayer> player;
+    private Expression<Bound> bound;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean init(Expression<?>[] exprs, int pattern, Kleenean kleenean, ParseResult parseResult) {
+        this.player = (Expression<OfflinePlayer>) exprs[0];
+        this.bound = (Expression<Bound>) exprs[1];
+        return true;
+    }
+
+    @Override
+    protected Timespan[] get(Event event) {
+        OfflinePlayer player = this.player.getSingle(event);
+        Bound bound = this.bound.getSingle(event);
+        if (player == null || bound == null) return null;
+        long time = SkBee.getPlugin().getBoundBorderListener().getDwellTime(player, bound.getId());
+        return new Timespan[]{new Timespan(time)};
+    }
+
+    @Nullable
+    @Override
+    public Class<?>[] acceptChange(ChangeMode mode) {
+        if (mode == ChangeMode.RESET || mode == ChangeMode.DELETE)
+            return CollectionUtils.array();
+        return null;
+    }
+
+    @Override
+    public void change(Event event, @Nullable Object[] delta, ChangeMode mode) {
+        OfflinePlayer player = this.player.getSingle(event);
+        Bound bound = this.bound.getSingle(event);
+        if (player == null || bound == null) return;
+        BoundBorderListener listener = SkBee.getPlugin().getBoundBorderListener();
+        listener.resetDwellTime(player, bound.getId());
+    }
+
+    @Override
+    public boolean isSingle() {
+        return true;
+    }
+
+    @Override
+    public Class<? extends Timespan> getReturnType() {
+        return Timespan.class;
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return "dwell time of " + player.toString(e, d) + " in bound " + bound.toString(e, d);
+    }
+
+}
@@ -0,0 +1,69 @@
+package tk.shanebee.bee.elements.bound.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.util.Kleenean;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+@Name("Bound - Entities")
+@Description({"Get all the entities or players within a bound. ",
+        "Only the loaded chunks the bound overlaps are checked for entities, and only the players in the bound's world are checked for players."})
+@Examples({"set {_e::*} to all entities within bound {arena}",
+        "loop all players within bound {arena}:", "\tsend \"The game is starting!\" to loop-player",
+        "if size of all players within bound {arena} = 0:"})
+@Since("1.6.0")
+public class ExprBoundEntities extends SimpleExpression<Entity> {
+
+    static {
+        Skript.registerExpression(ExprBoundEntities.class, Entity.class, ExpressionType.PROPERTY,
+                "[(all [[of] the]|the)] entities within [bound] %bound%",
+                "[(all [[of] the]|the)] players within [bound] %bound%");
+    }
+
+    private Expression<Bound> bound;
+    private boolean players;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean init(Expression<?>[] exprs, int pattern, Kleenean kleenean, ParseResult parseResult) {
+        this.bound = (Expression<Bound>) exprs[0];
+        this.players = pattern == 1;
+        return true;
+    }
+
+    @Override
+    protected Entity[] get(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null) return null;
+        if (players) {
+            return bound.getPlayers().toArray(new Player[0]);
+        }
+        return bound.getEntities().toArray(new Entity[0]);
+    }
+
+    @Override
+    public boolean isSingle() {
+        return false;
+    }
+
+    @Override
+    public Class<? extends Entity> getReturnType() {
+        return players ? Player.class : Entity.class;
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return "all " + (players ? "players" : "entities") + " within bound " + bound.toString(e, d);
+    }
+
+}
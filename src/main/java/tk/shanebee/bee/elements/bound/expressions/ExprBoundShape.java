@@ -0,0 +1,81 @@
+package tk.shanebee.bee.elements.bound.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.util.Kleenean;
+import org.bukkit.block.Block;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.api.util.CuboidShapeIterator.Shape;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@Name("Bound - Shape Blocks")
+@Description({"Get the blocks of part of a bound. ",
+        "Surface = all 6 faces, walls = the 4 vertical faces (no floor/ceiling), edges = the 12 edges (outline), corners = the 8 corners. ",
+        "Only the blocks of the shape are visited, so this is much faster than filtering all blocks within a bound. ",
+        "When looped, blocks are generated as they are needed."})
+@Examples({"set wall blocks of bound {arena} to glass",
+        "loop edge blocks of bound {arena}:", "\tshow happy villager at loop-block",
+        "set {_corners::*} to corner blocks of bound {arena}"})
+@Since("1.6.0")
+public class ExprBoundShape extends SimpleExpression<Block> {
+
+    static {
+        Skript.registerExpression(ExprBoundShape.class, Block.class, ExpressionType.PROPERTY,
+                "[(all [[of] the]|the)] (0¦surface|1¦wall|2¦edge|2¦outline|3¦corner) blocks of [bound] %bound%");
+    }
+
+    private Expression<Bound> bound;
+    private Shape shape;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean init(Expression<?>[] exprs, int pattern, Kleenean kleenean, ParseResult parseResult) {
+        this.bound = (Expression<Bound>) exprs[0];
+        this.shape = Shape.values()[parseResult.mark];
+        return true;
+    }
+
+    @Override
+    protected Block[] get(Event event) {
+        Iterator<? extends Block> iterator = iterator(event);
+        if (iterator == null) return null;
+        List<Block> blocks = new ArrayList<>();
+        iterator.forEachRemaining(blocks::add);
+        return blocks.toArray(new Block[0]);
+    }
+
+    @Override
+    public Iterator<? extends Block> iterator(Event event) {
+        Bound bound = this.bound.getSingle(event);
+        if (bound == null) return null;
+        return bound.getBlockIterator(shape);
+    }
+
+    @Override
+    public boolean isSingle() {
+        return false;
+    }
+
+    @Override
+    public Class<? extends Block> getReturnType() {
+        return Block.class;
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        String shape = this.shape == Shape.SURFACE ? "surface" : this.shape.name().toLowerCase().replaceAll("s$", "");
+        return shape + " blocks of bound " + bound.toString(e, d);
+    }
+
+}
@@ -0,0 +1,89 @@
+package tk.shanebee.bee.elements.bound.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.util.Kleenean;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.config.BoundConfig;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.List;
+
+@Name("Bound - Intersecting")
+@Description({"Get all bounds intersecting (overlapping) another bound, or a cuboid between 2 locations. ",
+        "When checking a bound, the bound itself is not included."})
+@Examples({"if size of bounds intersecting bound {_plot} > 0:", "\tsend \"Your plot overlaps another plot!\"",
+        "set {_b::*} to bounds intersecting cuboid between {_pos1} and {_pos2}"})
+@Since("1.6.0")
+public class ExprBoundsIntersecting extends SimpleExpression<Bound> {
+
+    static {
+        Skript.registerExpression(ExprBoundsIntersecting.class, Bound.class, ExpressionType.COMBINED,
+                "[(all [[of] the]|the)] bounds (intersecting|overlapping) [with] bound %bound%",
+                "[(all [[of] the]|the)] bounds (intersecting|overlapping) [with] [the] cuboid (from|between) %location% (to|and) %location%");
+    }
+
+    private Expression<Bound> bound;
+    private Expression<Location> loc1, loc2;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean init(Expression<?>[] exprs, int pattern, Kleenean kleenean, ParseResult parseResult) {
+        if (pattern == 0) {
+            this.bound = (Expression<Bound>) exprs[0];
+        } else {
+            this.loc1 = (Expression<Location>) exprs[0];
+            this.loc2 = (Expression<Location>) exprs[1];
+        }
+        return true;
+    }
+
+    @Override
+    protected Bound[] get(Event event) {
+        BoundConfig boundConfig = SkBee.getPlugin().getBoundConfig();
+        List<Bound> bounds;
+        if (bound != null) {
+            Bound bound = this.bound.getSingle(event);
+            if (bound == null) return null;
+            bounds = boundConfig.getBoundsIntersecting(bound);
+        } else {
+            Location loc1 = this.loc1.getSingle(event);
+            Location loc2 = this.loc2.getSingle(event);
+            if (loc1 == null || loc2 == null) return null;
+            World world = loc1.getWorld();
+            if (world == null || world != loc2.getWorld()) return null;
+            bounds = boundConfig.getBoundsIntersecting(world.getName(), loc1.getBlockX(), loc1.getBlockY(),
+                    loc1.getBlockZ(), loc2.getBlockX(), loc2.getBlockY(), loc2.getBlockZ());
+        }
+        return bounds.toArray(new Bound[0]);
+    }
+
+    @Override
+    public boolean isSingle() {
+        return false;
+    }
+
+    @Override
+    public Class<? extends Bound> getReturnType() {
+        return Bound.class;
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        if (bound != null) {
+            return "bounds intersecting bound " + bound.toString(e, d);
+        }
+        return "bounds intersecting cuboid between " + loc1.toString(e, d) + " and " + loc2.toString(e, d);
+    }
+
+}
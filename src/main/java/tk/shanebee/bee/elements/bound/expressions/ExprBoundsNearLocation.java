@@ -0,0 +1,90 @@
+package tk.shanebee.bee.elements.bound.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.util.Kleenean;
+import org.bukkit.Location;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.config.BoundConfig;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.List;
+
+@Name("Bound - Near Location")
+@Description({"Get all bounds within a radius of a location, or the nearest bound(s) to a location. ",
+        "Distance is measured from the location to the closest point of each bound, so a bound containing the location has a distance of 0. ",
+        "Nearest bounds are sorted from closest to farthest. If no amount is specified, only the nearest bound is returned."})
+@Examples({"set {_b::*} to bounds within radius 50 around player",
+        "set {_arena} to nearest bound to player",
+        "set {_arenas::*} to nearest 5 bounds to player"})
+@Since("1.6.0")
+public class ExprBoundsNearLocation extends SimpleExpression<Bound> {
+
+    static {
+        Skript.registerExpression(ExprBoundsNearLocation.class, Bound.class, ExpressionType.COMBINED,
+                "[(all [[of] the]|the)] bounds [with]in [a] radius [of] %number% (of|around) %location%",
+                "[the] nearest [%-number%] bound[s] (to|of) %location%");
+    }
+
+    private int pattern;
+    private Expression<Number> number;
+    private Expression<Location> location;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean init(Expression<?>[] exprs, int pattern, Kleenean kleenean, ParseResult parseResult) {
+        this.pattern = pattern;
+        this.number = (Expression<Number>) exprs[0];
+        this.location = (Expression<Location>) exprs[1];
+        return true;
+    }
+
+    @Override
+    protected Bound[] get(Event event) {
+        Location location = this.location.getSingle(event);
+        if (location == null) return null;
+        BoundConfig boundConfig = SkBee.getPlugin().getBoundConfig();
+        List<Bound> bounds;
+        if (pattern == 0) {
+            Number radius = this.number.getSingle(event);
+            if (radius == null) return null;
+            bounds = boundConfig.getBoundsInRadius(location, radius.doubleValue());
+        } else {
+            int amount = 1;
+            if (this.number != null) {
+                Number number = this.number.getSingle(event);
+                if (number == null) return null;
+                amount = number.intValue();
+            }
+            bounds = boundConfig.getNearestBounds(location, amount);
+        }
+        return bounds.toArray(new Bound[0]);
+    }
+
+    @Override
+    public boolean isSingle() {
+        return pattern == 1 && number == null;
+    }
+
+    @Override
+    public Class<? extends Bound> getReturnType() {
+        return Bound.class;
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        if (pattern == 0) {
+            return "bounds within radius " + number.toString(e, d) + " around " + location.toString(e, d);
+        }
+        return "nearest " + (number != null ? number.toString(e, d) + " " : "") + "bounds to " + location.toString(e, d);
+    }
+
+}
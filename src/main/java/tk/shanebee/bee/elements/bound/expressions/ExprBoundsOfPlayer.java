@@ -0,0 +1,86 @@
+package tk.shanebee.bee.elements.bound.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.util.Kleenean;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.config.BoundConfig;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Name("Bound - Bounds of Player")
+@Description("Get a list of bounds/ids a player is currently in. " +
+        "This is tracked as players move, so it does not need to check every bound.")
+@Examples({"set {_bounds::*} to bounds of player", "if bound ids of player contains \"spawn\":",
+        "loop all bounds of player:"})
+@Since("1.6.0")
+public class ExprBoundsOfPlayer extends SimpleExpression<Object> {
+
+    static {
+        Skript.registerExpression(ExprBoundsOfPlayer.class, Object.class, ExpressionType.PROPERTY,
+                "[(all [[of] the]|the)] bounds of %player%", "[(all [[of] the]|the)] bound id[s] of %player%");
+    }
+
+    private Expression<Player> player;
+    private boolean ID;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean init(Expression<?>[] exprs, int pattern, Kleenean kleenean, ParseResult parse) {
+        this.player = (Expression<Player>) exprs[0];
+        this.ID = pattern == 1;
+        return true;
+    }
+
+    @Override
+    protected Object[] get(Event event) {
+        Player player = this.player.getSingle(event);
+        if (player == null) {
+            return null;
+        }
+        Set<String> ids = SkBee.getPlugin().getBoundBorderListener().getBoundIds(player);
+        if (ID) {
+            return ids.toArray(new String[0]);
+        }
+        BoundConfig boundConfig = SkBee.getPlugin().getBoundConfig();
+        List<Bound> bounds = new ArrayList<>();
+        for (String id : ids) {
+            Bound bound = boundConfig.getBoundFromID(id);
+            if (bound != null) {
+                bounds.add(bound);
+            }
+        }
+        return bounds.toArray(new Bound[0]);
+    }
+
+    @Override
+    public boolean isSingle() {
+        return false;
+    }
+
+    @Override
+    public Class<?> getReturnType() {
+        if (ID)
+            return String.class;
+        else
+            return Bound.class;
+    }
+
+    @Override
+    public String toString(Event e, boolean d) {
+        return "bound" + (ID ? " ids" : "s") + " of " + this.player.toString(e, d);
+    }
+
+}
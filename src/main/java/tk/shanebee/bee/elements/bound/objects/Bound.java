@@ -4,11 +4,20 @@ import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.Chunk;
 import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.util.BoundingBox;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.util.CuboidBlockIterator;
+import tk.shanebee.bee.api.util.CuboidShapeIterator;
+import tk.shanebee.bee.api.util.CuboidShapeIterator.Shape;
+import tk.shanebee.bee.elements.bound.config.BoundConfig;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +34,8 @@ public class Bound implements ConfigurationSerializable {
     private int z2;
     private final String world;
     private final String id;
+    private World worldCache;
+    private int flags;
 
     /** Create a new bounding box between 2 sets of coordinates
      * @param world World this bound is in
@@ -75,20 +86,107 @@ public class Bound implements ConfigurationSerializable {
      * @return True if location is within this bound
      */
     public boolean isInRegion(Location loc) {
-        if (!Objects.requireNonNull(loc.getWorld()).getName().equals(world)) return false;
-        int cx = loc.getBlockX();
-        int cy = loc.getBlockY();
-        int cz = loc.getBlockZ();
+        World world = getWorld();
+        if (world == null || Objects.requireNonNull(loc.getWorld()) != world) return false;
+        return isInRegion(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    /** Check if a block position is within the region of this bound
+     * <p>This does not check the world</p>
+     * @param cx Block x coord
+     * @param cy Block y coord
+     * @param cz Block z coord
+     * @return True if position is within this bound
+     */
+    public boolean isInRegion(int cx, int cy, int cz) {
         return (cx >= x && cx <= x2) && (cy >= y && cy <= y2) && (cz >= z && cz <= z2);
     }
 
+    /** Check if an entity is within the region of this bound
+     * <p>Unlike {@link #isInRegion(Location)} this checks the exact position of the entity
+     * against the full volume of the blocks in this bound</p>
+     * @param entity Entity to check
+     * @return True if entity is within this bound
+     */
+    public boolean isInRegion(Entity entity) {
+        World world = getWorld();
+        if (world == null || entity.getWorld() != world) return false;
+        Location loc = entity.getLocation();
+        return isInRegion(loc.getX(), loc.getY(), loc.getZ());
+    }
+
+    private boolean isInRegion(double cx, double cy, double cz) {
+        return (cx >= x && cx < x2 + 1) && (cy >= y && cy < y2 + 1) && (cz >= z && cz < z2 + 1);
+    }
+
+    /** Get all entities within a bound
+     * <p>Only loaded chunks overlapping this bound are checked</p>
+     * @return List of entities within this bound
+     */
+    public List<Entity> getEntities() {
+        List<Entity> entities = new ArrayList<>();
+        World w = getWorld();
+        if (w == null) return entities;
+        int minX = x >> 4;
+        int minZ = z >> 4;
+        int maxX = x2 >> 4;
+        int maxZ = z2 >> 4;
+        long chunks = ((long) maxX - minX + 1) * ((long) maxZ - minZ + 1);
+        Chunk[] loaded = w.getLoadedChunks();
+        if (chunks > loaded.length) {
+            // Huge bound, cheaper to filter the loaded chunks than to probe every chunk it covers
+            for (Chunk chunk : loaded) {
+                int cx = chunk.getX();
+                int cz = chunk.getZ();
+                if (cx >= minX && cx <= maxX && cz >= minZ && cz <= maxZ) {
+                    addEntities(chunk, entities);
+                }
+            }
+        } else {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    if (w.isChunkLoaded(cx, cz)) {
+                        addEntities(w.getChunkAt(cx, cz), entities);
+                    }
+                }
+            }
+        }
+        return entities;
+    }
+
+    private void addEntities(Chunk chunk, List<Entity> entities) {
+        for (Entity entity : chunk.getEntities()) {
+            Location loc = entity.getLocation();
+            if (isInRegion(loc.getX(), loc.getY(), loc.getZ())) {
+                entities.add(entity);
+            }
+        }
+    }
+
+    /** Get all players within a bound
+     * <p>Only players in the world of this bound are checked</p>
+     * @return List of players within this bound
+     */
+    public List<Player> getPlayers() {
+        List<Player> players = new ArrayList<>();
+        World w = getWorld();
+        if (w == null) return players;
+        for (Player player : w.getPlayers()) {
+            Location loc = player.getLocation();
+            if (isInRegion(loc.getX(), loc.getY(), loc.getZ())) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
     /** Get location of all blocks of a type within a bound
      * @param type Material type to check
      * @return ArrayList of locations of all blocks of this type in this bound
      */
     @SuppressWarnings("unused")
     public List<Location> getBlocks(Material type) {
-        World w = Bukkit.getWorld(world);
+        World w = getWorld();
         ArrayList <Location> array = new ArrayList<>();
         for (int x3 = x; x3 <= x2; x3++) {
             for (int y3 = y; y3 <= y2; y3++) {
@@ -108,25 +206,53 @@ public class Bound implements ConfigurationSerializable {
      * @return List of blocks within bound
      */
     public List<Block> getBlocks() {
-        World w = Bukkit.getWorld(world);
-        List <Block> array = new ArrayList<>();
-        for (int x3 = x; x3 <= x2; x3++) {
-            for (int y3 = y; y3 <= y2; y3++) {
-                for (int z3 = z; z3 <= z2; z3++) {
-                    assert w != null;
-                    Block b = w.getBlockAt(x3, y3, z3);
-                    array.add(b);
-                }
-            }
-        }
+        List<Block> array = new ArrayList<>();
+        getBlockIterator().forEachRemaining(array::add);
         return array;
     }
 
+    /** Get an iterator of all blocks within a bound
+     * <p>Blocks are visited chunk by chunk and are not held in memory</p>
+     * @return Iterator of blocks within bound
+     */
+    public Iterator<Block> getBlockIterator() {
+        return new CuboidBlockIterator(getWorld(), x, y, z, x2, y2, z2);
+    }
+
+    /** Get an iterator of the blocks of a shape of a bound, such as its surface or edges
+     * <p>Only blocks of the shape are visited, and blocks are not held in memory</p>
+     * @param shape Shape to iterate
+     * @return Iterator of blocks of the shape
+     */
+    public Iterator<Block> getBlockIterator(Shape shape) {
+        return new CuboidShapeIterator(getWorld(), shape, x, y, z, x2, y2, z2);
+    }
+
+    /** Get the amount of blocks within a bound
+     * @return Amount of blocks within bound
+     */
+    public long getVolume() {
+        return CuboidBlockIterator.getVolume(x, y, z, x2, y2, z2);
+    }
+
     /** Get the world of this bound
-     * @return World of this bound
+     * <p>The world is cached once resolved, and cleared when the world loads or unloads</p>
+     * @return World of this bound, or null if the world is not loaded
      */
     public World getWorld() {
-        return Bukkit.getWorld(world);
+        World world = this.worldCache;
+        if (world == null) {
+            world = Bukkit.getWorld(this.world);
+            this.worldCache = world;
+        }
+        return world;
+    }
+
+    /** Clear the cached world of this bound
+     * <p>Used internally when worlds load/unload</p>
+     */
+    public void invalidateWorld() {
+        this.worldCache = null;
     }
 
     public String getWorldString() {
@@ -137,14 +263,14 @@ public class Bound implements ConfigurationSerializable {
      * @return Location of greater corner
      */
     public Location getGreaterCorner() {
-        return new Location(Bukkit.getWorld(world), x, y, z);
+        return new Location(getWorld(), x, y, z);
     }
 
     /** Get the lesser corner of this bound
      * @return Location of lesser corner
      */
     public Location getLesserCorner() {
-        return new Location(Bukkit.getWorld(world), x2, y2, z2);
+        return new Location(getWorld(), x2, y2, z2);
     }
 
     /** Get the center location of this bound
@@ -161,6 +287,7 @@ public class Bound implements ConfigurationSerializable {
 
     public void setLesserX(int x) {
         this.x = x;
+        update();
     }
 
     public int getLesserY() {
@@ -169,6 +296,7 @@ public class Bound implements ConfigurationSerializable {
 
     public void setLesserY(int y) {
         this.y = y;
+        update();
     }
 
     public int getLesserZ() {
@@ -177,6 +305,7 @@ public class Bound implements ConfigurationSerializable {
 
     public void setLesserZ(int z) {
         this.z = z;
+        update();
     }
 
     public int getGreaterX() {
@@ -185,6 +314,7 @@ public class Bound implements ConfigurationSerializable {
 
     public void setGreaterX(int x2) {
         this.x2 = x2;
+        update();
     }
 
     public int getGreaterY() {
@@ -193,6 +323,7 @@ public class Bound implements ConfigurationSerializable {
 
     public void setGreaterY(int y2) {
         this.y2 = y2;
+        update();
     }
 
     public int getGreaterZ() {
@@ -201,6 +332,7 @@ public class Bound implements ConfigurationSerializable {
 
     public void setGreaterZ(int z2) {
         this.z2 = z2;
+        update();
     }
 
     public void change(Axis axis, Corner corner, int amount) {
@@ -223,6 +355,49 @@ public class Bound implements ConfigurationSerializable {
                 z += amount;
             }
         }
+        update();
+    }
+
+    // Keep the bound index in sync when coordinates change
+    private void update() {
+        SkBee plugin = SkBee.getPlugin();
+        if (plugin == null) return;
+        BoundConfig boundConfig = plugin.getBoundConfig();
+        if (boundConfig != null) {
+            boundConfig.updateBound(this);
+        }
+    }
+
+    /** Check if a protection flag is enabled on this bound
+     * @param flag Flag to check
+     * @return True if flag is enabled
+     */
+    public boolean hasFlag(Flag flag) {
+        return (flags & flag.getMask()) != 0;
+    }
+
+    /** Enable or disable a protection flag on this bound
+     * @param flag Flag to change
+     * @param enabled Whether the flag should be enabled
+     */
+    public void setFlag(Flag flag, boolean enabled) {
+        setFlags(enabled ? flags | flag.getMask() : flags & ~flag.getMask());
+    }
+
+    /** Get the protection flags of this bound as a bit mask of {@link Flag#getMask()}
+     * @return Bit mask of enabled flags
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /** Set the protection flags of this bound as a bit mask of {@link Flag#getMask()}
+     * @param flags Bit mask of enabled flags
+     */
+    public void setFlags(int flags) {
+        if (this.flags == flags) return;
+        this.flags = flags;
+        update();
     }
 
     public enum Axis {
@@ -233,6 +408,37 @@ public class Bound implements ConfigurationSerializable {
         GREATER, LESSER
     }
 
+    /** Protections which can be enabled on a bound
+     * <p>Enabled protections cancel the matching action within the bound</p>
+     */
+    public enum Flag {
+        BREAK, PLACE, EXPLODE, FLUID_FLOW, PISTON;
+
+        public int getMask() {
+            return 1 << ordinal();
+        }
+
+        /** Get a flag by its name as stored in the bounds file
+         * @param name Name of flag
+         * @return Flag with this name, or null if none exists
+         */
+        public static Flag fromName(String name) {
+            for (Flag flag : values()) {
+                if (flag.getName().equalsIgnoreCase(name)) {
+                    return flag;
+                }
+            }
+            return null;
+        }
+
+        /** Get the name of this flag as stored in the bounds file
+         * @return Name of flag
+         */
+        public String getName() {
+            return name().toLowerCase().replace("_", "-");
+        }
+    }
+
     public String getId() {
         return id;
     }
@@ -257,6 +463,15 @@ public class Bound implements ConfigurationSerializable {
         result.put("y2", y2);
         result.put("z2", z2);
         result.put("id", id);
+        if (flags != 0) {
+            List<String> flagNames = new ArrayList<>();
+            for (Flag flag : Flag.values()) {
+                if (hasFlag(flag)) {
+                    flagNames.add(flag.getName());
+                }
+            }
+            result.put("flags", flagNames);
+        }
 
         return result;
     }
@@ -275,7 +490,19 @@ public class Bound implements ConfigurationSerializable {
         int z2 = ((Number) args.get("z2")).intValue();
         String id = String.valueOf(args.get("id"));
 
-        return new Bound(world, x, y, z, x2, y2, z2, id);
+        Bound bound = new Bound(world, x, y, z, x2, y2, z2, id);
+        Object flagNames = args.get("flags");
+        if (flagNames instanceof List) {
+            int flags = 0;
+            for (Object name : (List<?>) flagNames) {
+                Flag flag = Flag.fromName(String.valueOf(name));
+                if (flag != null) {
+                    flags |= flag.getMask();
+                }
+            }
+            bound.flags = flags;
+        }
+        return bound;
     }
 
 }
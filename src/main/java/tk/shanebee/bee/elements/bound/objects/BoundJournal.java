@@ -0,0 +1,156 @@
+package tk.shanebee.bee.elements.bound.objects;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import tk.shanebee.bee.elements.bound.util.BlockChangeTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journal of the original state of blocks changed within a {@link Bound}
+ * <p>Only the first change of each block is recorded, so a reset only has to
+ * restore the blocks which actually changed rather than the whole bound.</p>
+ */
+public class BoundJournal {
+
+    private static final Map<String, BoundJournal> JOURNALS = new HashMap<>();
+
+    private final Bound bound;
+    private final Map<Long, BlockData> originals = new LinkedHashMap<>();
+
+    private BoundJournal(Bound bound) {
+        this.bound = bound;
+    }
+
+    /**
+     * Start journaling block changes in a bound
+     *
+     * @param bound Bound to journal
+     * @return Journal of bound
+     */
+    public static BoundJournal start(Bound bound) {
+        BoundJournal journal = JOURNALS.get(bound.getId());
+        if (journal == null || journal.bound != bound) {
+            journal = new BoundJournal(bound);
+            JOURNALS.put(bound.getId(), journal);
+        }
+        return journal;
+    }
+
+    /**
+     * Stop journaling block changes in a bound
+     * <p>Recorded changes are discarded</p>
+     *
+     * @param bound Bound to stop journaling
+     */
+    public static void stop(Bound bound) {
+        JOURNALS.remove(bound.getId());
+    }
+
+    /**
+     * Get the journal of a bound
+     *
+     * @param bound Bound to get journal for
+     * @return Journal of bound, or null if this bound is not being journaled
+     */
+    public static BoundJournal getJournal(Bound bound) {
+        BoundJournal journal = JOURNALS.get(bound.getId());
+        return journal != null && journal.bound == bound ? journal : null;
+    }
+
+    /**
+     * Check if any bound is being journaled
+     *
+     * @return True if any journal is active
+     */
+    public static boolean isJournaling() {
+        return !JOURNALS.isEmpty();
+    }
+
+    /**
+     * Record the current state of a block before it changes
+     * <p>Blocks already recorded keep their first recorded state</p>
+     *
+     * @param block Block about to change
+     */
+    public void record(Block block) {
+        record(block, null);
+    }
+
+    /**
+     * Record the original state of a block
+     * <p>Blocks already recorded keep their first recorded state</p>
+     *
+     * @param block    Block which is changing
+     * @param original State of the block before the change, or null to use the current state
+     */
+    public void record(Block block, BlockData original) {
+        long key = getKey(block.getX(), block.getY(), block.getZ());
+        if (originals.containsKey(key)) return;
+        originals.put(key, original != null ? original : block.getBlockData());
+    }
+
+    /**
+     * Get the amount of blocks recorded in this journal
+     *
+     * @return Amount of recorded blocks
+     */
+    public int size() {
+        return originals.size();
+    }
+
+    /**
+     * Create a task to restore all recorded blocks to their original state
+     * <p>The journal is cleared and continues recording new changes</p>
+     *
+     * @param physics Whether to apply physics to restored blocks
+     * @return New task, call {@link BlockChangeTask#start()} to run it, or null if the world is not loaded
+     */
+    public BlockChangeTask reset(boolean physics) {
+        World world = bound.getWorld();
+        if (world == null) return null;
+
+        // Group changes by chunk so each unit only touches one chunk
+        Map<Long, List<Map.Entry<Long, BlockData>>> chunks = new LinkedHashMap<>();
+        for (Map.Entry<Long, BlockData> entry : originals.entrySet()) {
+            long key = entry.getKey();
+            long chunkKey = ((long) (getX(key) >> 4) << 32) | ((getZ(key) >> 4) & 0xFFFFFFFFL);
+            chunks.computeIfAbsent(chunkKey, k -> new ArrayList<>()).add(entry);
+        }
+        originals.clear();
+
+        List<Runnable> units = new ArrayList<>(chunks.size());
+        for (List<Map.Entry<Long, BlockData>> entries : chunks.values()) {
+            units.add(() -> {
+                for (Map.Entry<Long, BlockData> entry : entries) {
+                    long key = entry.getKey();
+                    world.getBlockAt(getX(key), getY(key), getZ(key)).setBlockData(entry.getValue(), physics);
+                }
+            });
+        }
+        // Only the chunks with recorded changes need to be loaded, not the whole bound
+        return new BlockChangeTask(bound.getId(), units).preloadChunks(world, new ArrayList<>(chunks.keySet()));
+    }
+
+    private static long getKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int getX(long key) {
+        return (int) (key >> 38);
+    }
+
+    private static int getY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    private static int getZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+}
@@ -0,0 +1,361 @@
+package tk.shanebee.bee.elements.bound.objects;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.util.BlockChangeTask;
+import tk.shanebee.bee.elements.bound.util.BoundScanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot of all blocks within a {@link Bound}
+ * <p>Blocks are stored as a palette of unique {@link BlockData} plus a bit packed
+ * array of palette indexes, so each block only takes as many bits as the palette needs.
+ * Snapshots can be held in memory or saved to a file.</p>
+ */
+public class BoundSnapshot {
+
+    private static final int MAGIC = 0x534B4253; // SKBS
+    private static final byte VERSION = 1;
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_.\\-]+");
+    private static final Map<String, BoundSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final String world;
+    private final String boundId;
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final List<BlockData> palette;
+    private final int bits;
+    private final long[] data;
+
+    private BoundSnapshot(String world, String boundId, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ,
+                          List<BlockData> palette, int bits, long[] data) {
+        this.world = world;
+        this.boundId = boundId;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.palette = palette;
+        this.bits = bits;
+        this.data = data;
+    }
+
+    /**
+     * Capture a snapshot of all blocks within a bound
+     * <p>This must be called on the main thread, the snapshot is built off the main thread.</p>
+     *
+     * @param bound Bound to capture
+     * @return Future with the new snapshot
+     */
+    public static CompletableFuture<BoundSnapshot> capture(Bound bound) {
+        World boundWorld = bound.getWorld();
+        if (boundWorld == null) {
+            CompletableFuture<BoundSnapshot> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("World of bound '" + bound.getId() + "' is not loaded"));
+            return future;
+        }
+        // Only blocks within the build height are captured, the same range the scanner visits
+        int lesserY = Math.max(bound.getLesserY(), 0);
+        int greaterY = Math.min(bound.getGreaterY(), boundWorld.getMaxHeight() - 1);
+        int minX = bound.getLesserX(), minY = lesserY <= greaterY ? lesserY : 0, minZ = bound.getLesserZ();
+        int sizeX = bound.getGreaterX() - minX + 1;
+        int sizeY = lesserY <= greaterY ? greaterY - lesserY + 1 : 0;
+        int sizeZ = bound.getGreaterZ() - minZ + 1;
+        if ((long) sizeX * sizeY * sizeZ > Integer.MAX_VALUE) {
+            CompletableFuture<BoundSnapshot> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalArgumentException("Bound '" + bound.getId() + "' is too large to snapshot"));
+            return future;
+        }
+        String world = bound.getWorldString();
+        String boundId = bound.getId();
+
+        return BoundScanner.scan(bound, ChunkPart::new).thenApply(parts -> {
+            // Merge palettes of each chunk into one
+            List<BlockData> palette = new ArrayList<>();
+            Map<BlockData, Integer> paletteIds = new HashMap<>();
+            for (ChunkPart part : parts) {
+                for (int i = 0; i < part.palette.size(); i++) {
+                    BlockData blockData = part.palette.get(i);
+                    Integer id = paletteIds.get(blockData);
+                    if (id == null) {
+                        id = palette.size();
+                        palette.add(blockData);
+                        paletteIds.put(blockData, id);
+                    }
+                    part.remap[i] = id;
+                }
+            }
+
+            int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(palette.size() - 1));
+            long volume = (long) sizeX * sizeY * sizeZ;
+            int perLong = 64 / bits;
+            long[] data = new long[(int) ((volume + perLong - 1) / perLong)];
+            for (ChunkPart part : parts) {
+                int i = 0;
+                for (int y = part.minY; y <= part.maxY; y++) {
+                    for (int z = part.minZ; z <= part.maxZ; z++) {
+                        for (int x = part.minX; x <= part.maxX; x++) {
+                            int index = ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+                            set(data, bits, index, part.remap[part.indexes[i++]]);
+                        }
+                    }
+                }
+            }
+            return new BoundSnapshot(world, boundId, minX, minY, minZ, sizeX, sizeY, sizeZ, palette, bits, data);
+        });
+    }
+
+    /**
+     * Create a task to restore this snapshot to its original location
+     *
+     * @param physics Whether to apply physics to restored blocks
+     * @return New task, call {@link BlockChangeTask#start()} to run it, or null if the world is not loaded
+     */
+    public BlockChangeTask restore(boolean physics) {
+        World world = Bukkit.getWorld(this.world);
+        if (world == null) return null;
+        List<Runnable> units = new ArrayList<>();
+        BlockChangeTask.forEachSection(world, minX, minY, minZ, minX + sizeX - 1, minY + sizeY - 1, minZ + sizeZ - 1,
+                (sx, sy, sz, ex, ey, ez) -> units.add(() -> {
+                    for (int y = sy; y <= ey; y++) {
+                        for (int z = sz; z <= ez; z++) {
+                            int index = ((y - minY) * sizeZ + (z - minZ)) * sizeX + (sx - minX);
+                            for (int x = sx; x <= ex; x++) {
+                                BlockData blockData = palette.get(get(data, bits, index++));
+                                world.getBlockAt(x, y, z).setBlockData(blockData, physics);
+                            }
+                        }
+                    }
+                }));
+        return new BlockChangeTask(boundId, units)
+                .preloadChunks(world, minX, minZ, minX + sizeX - 1, minZ + sizeZ - 1);
+    }
+
+    /**
+     * Get the ID of the bound this snapshot was taken of
+     *
+     * @return ID of bound
+     */
+    public String getBoundId() {
+        return boundId;
+    }
+
+    /**
+     * Get the amount of unique block data in this snapshot
+     *
+     * @return Size of palette
+     */
+    public int getPaletteSize() {
+        return palette.size();
+    }
+
+    /**
+     * Check if a snapshot name is valid
+     * <p>Names may only contain letters, numbers, underscores, dashes and periods</p>
+     *
+     * @param name Name to check
+     * @return True if valid
+     */
+    public static boolean isValidName(String name) {
+        return NAME_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * Store a snapshot
+     *
+     * @param name     Name of snapshot
+     * @param snapshot Snapshot to store
+     * @param toFile   Whether to save to file instead of holding it in memory
+     * @return Future which completes once stored
+     */
+    public static CompletableFuture<Void> store(String name, BoundSnapshot snapshot, boolean toFile) {
+        if (!toFile) {
+            SNAPSHOTS.put(name, snapshot);
+            return CompletableFuture.completedFuture(null);
+        }
+        SNAPSHOTS.remove(name);
+        File file = getFile(name);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                snapshot.write(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, BoundScanner.getExecutor());
+    }
+
+    /**
+     * Get a stored snapshot
+     * <p>Snapshots in memory are returned right away, otherwise it is loaded from file off the main thread</p>
+     *
+     * @param name Name of snapshot
+     * @return Future with the snapshot, or null if no snapshot with this name exists
+     */
+    public static CompletableFuture<BoundSnapshot> get(String name) {
+        BoundSnapshot snapshot = SNAPSHOTS.get(name);
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        File file = getFile(name);
+        if (!file.exists()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, BoundScanner.getExecutor());
+    }
+
+    /**
+     * Delete a stored snapshot from memory and file
+     *
+     * @param name Name of snapshot
+     */
+    public static void delete(String name) {
+        SNAPSHOTS.remove(name);
+        File file = getFile(name);
+        if (file.exists() && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    private static File getFile(String name) {
+        return new File(new File(SkBee.getPlugin().getDataFolder(), "snapshots"), name + ".snapshot");
+    }
+
+    private void write(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(world);
+            out.writeUTF(boundId);
+            out.writeInt(minX);
+            out.writeInt(minY);
+            out.writeInt(minZ);
+            out.writeInt(sizeX);
+            out.writeInt(sizeY);
+            out.writeInt(sizeZ);
+            out.writeInt(palette.size());
+            for (BlockData blockData : palette) {
+                out.writeUTF(blockData.getAsString());
+            }
+            out.writeByte(bits);
+            out.writeInt(data.length);
+            for (long l : data) {
+                out.writeLong(l);
+            }
+        }
+    }
+
+    private static BoundSnapshot read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Invalid snapshot file: " + file.getName());
+            }
+            String world = in.readUTF();
+            String boundId = in.readUTF();
+            int minX = in.readInt();
+            int minY = in.readInt();
+            int minZ = in.readInt();
+            int sizeX = in.readInt();
+            int sizeY = in.readInt();
+            int sizeZ = in.readInt();
+            int paletteSize = in.readInt();
+            List<BlockData> palette = new ArrayList<>(paletteSize);
+            for (int i = 0; i < paletteSize; i++) {
+                palette.add(Bukkit.createBlockData(in.readUTF()));
+            }
+            int bits = in.readByte();
+            long[] data = new long[in.readInt()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = in.readLong();
+            }
+            return new BoundSnapshot(world, boundId, minX, minY, minZ, sizeX, sizeY, sizeZ, palette, bits, data);
+        }
+    }
+
+    private static void set(long[] data, int bits, int index, int value) {
+        int perLong = 64 / bits;
+        int longIndex = index / perLong;
+        int shift = (index % perLong) * bits;
+        long mask = (1L << bits) - 1;
+        data[longIndex] = (data[longIndex] & ~(mask << shift)) | ((long) value << shift);
+    }
+
+    private static int get(long[] data, int bits, int index) {
+        int perLong = 64 / bits;
+        int shift = (index % perLong) * bits;
+        return (int) ((data[index / perLong] >>> shift) & ((1L << bits) - 1));
+    }
+
+    // Blocks of one chunk within the bound, with a palette local to this chunk
+    private static class ChunkPart {
+
+        private final int minX, minY, minZ, maxX, maxY, maxZ;
+        private final List<BlockData> palette = new ArrayList<>();
+        private final int[] indexes;
+        private final int[] remap;
+
+        private ChunkPart(ChunkSnapshot snapshot, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            int baseX = snapshot.getX() << 4;
+            int baseZ = snapshot.getZ() << 4;
+            this.minX = baseX + minX;
+            this.minY = minY;
+            this.minZ = baseZ + minZ;
+            this.maxX = baseX + maxX;
+            this.maxY = maxY;
+            this.maxZ = baseZ + maxZ;
+            this.indexes = new int[(maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1)];
+
+            Map<BlockData, Integer> ids = new HashMap<>();
+            int i = 0;
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        BlockData blockData = snapshot.getBlockData(x, y, z);
+                        Integer id = ids.get(blockData);
+                        if (id == null) {
+                            id = palette.size();
+                            palette.add(blockData);
+                            ids.put(blockData, id);
+                        }
+                        indexes[i++] = id;
+                    }
+                }
+            }
+            this.remap = new int[palette.size()];
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package tk.shanebee.bee.elements.bound.objects;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Immutable copy of a {@link Bound}
+ * <p>Safe to share between threads. Copies are published by the bound config
+ * each time bounds change, see {@link tk.shanebee.bee.elements.bound.config.PublishedBounds}</p>
+ */
+public final class ImmutableBound {
+
+    private final String id;
+    private final String world;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+    private final int flags;
+
+    /** Create an immutable copy of a bound
+     * <p>This must be called on the main thread</p>
+     * @param bound Bound to copy
+     */
+    public ImmutableBound(Bound bound) {
+        this.id = bound.getId();
+        this.world = bound.getWorldString();
+        // Setters do not sort the corners
+        this.minX = Math.min(bound.getLesserX(), bound.getGreaterX());
+        this.minY = Math.min(bound.getLesserY(), bound.getGreaterY());
+        this.minZ = Math.min(bound.getLesserZ(), bound.getGreaterZ());
+        this.maxX = Math.max(bound.getLesserX(), bound.getGreaterX());
+        this.maxY = Math.max(bound.getLesserY(), bound.getGreaterY());
+        this.maxZ = Math.max(bound.getLesserZ(), bound.getGreaterZ());
+        this.flags = bound.getFlags();
+    }
+
+    /** Check if a location is within the region of this bound
+     * @param loc Location to check
+     * @return True if location is within this bound
+     */
+    public boolean isInRegion(Location loc) {
+        World world = loc.getWorld();
+        return world != null && world.getName().equals(this.world) &&
+                isInRegion(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    /** Check if a block position is within the region of this bound
+     * <p>This does not check the world</p>
+     * @param x Block x coord
+     * @param y Block y coord
+     * @param z Block z coord
+     * @return True if position is within this bound
+     */
+    public boolean isInRegion(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    /** Check if this bound intersects another bound
+     * @param other Bound to check
+     * @return True if both bounds are in the same world and overlap
+     */
+    public boolean intersects(ImmutableBound other) {
+        return world.equals(other.world) && minX <= other.maxX && maxX >= other.minX &&
+                minY <= other.maxY && maxY >= other.minY && minZ <= other.maxZ && maxZ >= other.minZ;
+    }
+
+    /** Get the amount of blocks within this bound
+     * @return Amount of blocks within bound
+     */
+    public long getVolume() {
+        return ((long) maxX - minX + 1) * ((long) maxY - minY + 1) * ((long) maxZ - minZ + 1);
+    }
+
+    /** Check if a protection flag is enabled on this bound
+     * @param flag Flag to check
+     * @return True if flag is enabled
+     */
+    public boolean hasFlag(Bound.Flag flag) {
+        return (flags & flag.getMask()) != 0;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getWorldString() {
+        return world;
+    }
+
+    public int getLesserX() {
+        return minX;
+    }
+
+    public int getLesserY() {
+        return minY;
+    }
+
+    public int getLesserZ() {
+        return minZ;
+    }
+
+    public int getGreaterX() {
+        return maxX;
+    }
+
+    public int getGreaterY() {
+        return maxY;
+    }
+
+    public int getGreaterZ() {
+        return maxZ;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+}
@@ -0,0 +1,279 @@
+package tk.shanebee.bee.elements.bound.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.scheduler.BukkitTask;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+import tk.shanebee.bee.elements.bound.util.BoundChunkLoader.Ticket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Apply block changes over multiple ticks within a time budget
+ * <p>Work is split into units (usually one chunk section each). Every tick, units are
+ * applied until the budget for that tick is used up, the rest continue next tick.
+ * Chunks of the area being changed can be loaded without blocking before changes start,
+ * see {@link #preloadChunks(World, int, int, int, int)}.</p>
+ */
+public class BlockChangeTask implements Runnable {
+
+    private static final Map<String, BlockChangeTask> RUNNING_TASKS = new HashMap<>();
+
+    private final String boundId;
+    private final Deque<Runnable> units;
+    private final int totalUnits;
+    private final long budgetNanos;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private BukkitTask task;
+    private Supplier<CompletableFuture<Ticket>> preload = null;
+    private Ticket ticket = null;
+
+    /**
+     * Create a new task
+     *
+     * @param boundId ID of bound this task is changing
+     * @param units   Units of work, applied in order
+     */
+    public BlockChangeTask(String boundId, Collection<Runnable> units) {
+        this.boundId = boundId;
+        this.units = new ArrayDeque<>(units);
+        this.totalUnits = units.size();
+        this.budgetNanos = SkBee.getPlugin().getPluginConfig().BOUND_TICK_BUDGET * 1000000L;
+    }
+
+    /**
+     * Load the chunks of an area before changes start
+     * <p>Chunks are loaded with {@link BoundChunkLoader} and held until this task finishes,
+     * so changes never load chunks on the main thread. Corners do not need to be sorted.</p>
+     *
+     * @param world World of area
+     * @param x1    Block x coord of 1st corner
+     * @param z1    Block z coord of 1st corner
+     * @param x2    Block x coord of 2nd corner
+     * @param z2    Block z coord of 2nd corner
+     * @return This task
+     */
+    public BlockChangeTask preloadChunks(World world, int x1, int z1, int x2, int z2) {
+        this.preload = () -> BoundChunkLoader.load(world, x1, z1, x2, z2);
+        return this;
+    }
+
+    /**
+     * Load specific chunks before changes start
+     * <p>Use this instead of loading a whole area when changes only touch a few chunks.</p>
+     *
+     * @param world  World of chunks
+     * @param chunks Keys of chunks, as (chunkX &lt;&lt; 32) | (chunkZ &amp; 0xFFFFFFFF)
+     * @return This task
+     * @see #preloadChunks(World, int, int, int, int)
+     */
+    public BlockChangeTask preloadChunks(World world, Collection<Long> chunks) {
+        this.preload = () -> BoundChunkLoader.load(world, chunks);
+        return this;
+    }
+
+    /**
+     * Load the chunks of a bound before changes start
+     *
+     * @param bound Bound to load chunks of
+     * @return This task
+     * @see #preloadChunks(World, int, int, int, int)
+     */
+    public BlockChangeTask preloadChunks(Bound bound) {
+        return preloadChunks(bound.getWorld(), bound.getLesserX(), bound.getLesserZ(), bound.getGreaterX(), bound.getGreaterZ());
+    }
+
+    /**
+     * Start applying changes
+     * <p>Changes start on the next tick (or once chunks have been preloaded),
+     * any task already running on the same bound will be cancelled.</p>
+     *
+     * @return Future which completes once all changes have been applied
+     */
+    public CompletableFuture<Void> start() {
+        BlockChangeTask previous = RUNNING_TASKS.put(boundId, this);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (preload == null) {
+            task = Bukkit.getScheduler().runTaskTimer(SkBee.getPlugin(), this, 1, 1);
+            return future;
+        }
+        preload.get().whenComplete((ticket, ex) -> {
+            if (ex != null) {
+                finish();
+                future.completeExceptionally(ex);
+            } else if (future.isDone()) {
+                // Cancelled while chunks were loading
+                ticket.release();
+            } else {
+                this.ticket = ticket;
+                task = Bukkit.getScheduler().runTaskTimer(SkBee.getPlugin(), this, 1, 1);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void run() {
+        long end = System.nanoTime() + budgetNanos;
+        // Always apply at least one unit so the task can not stall
+        do {
+            Runnable unit = units.poll();
+            if (unit == null) break;
+            unit.run();
+        } while (System.nanoTime() < end);
+
+        if (units.isEmpty()) {
+            finish();
+            future.complete(null);
+        }
+    }
+
+    /**
+     * Cancel this task
+     * <p>Changes that have already been applied will remain</p>
+     */
+    public void cancel() {
+        units.clear();
+        finish();
+        future.complete(null);
+    }
+
+    private void finish() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        RUNNING_TASKS.remove(boundId, this);
+        if (ticket != null) {
+            ticket.release();
+            ticket = null;
+        }
+    }
+
+    /**
+     * Get the progress of this task
+     *
+     * @return Progress between 0 and 1
+     */
+    public double getProgress() {
+        if (totalUnits == 0) return 1;
+        return (double) (totalUnits - units.size()) / totalUnits;
+    }
+
+    /**
+     * Create a task to fill a bound with a block
+     *
+     * @param bound   Bound to fill
+     * @param data    Block data to fill with
+     * @param replace Only replace blocks of these materials, or null to replace all blocks
+     * @param physics Whether to apply physics to changed blocks
+     * @return New task, call {@link #start()} to run it
+     */
+    public static BlockChangeTask fill(Bound bound, BlockData data, Set<Material> replace, boolean physics) {
+        World world = bound.getWorld();
+        List<Runnable> units = new ArrayList<>();
+        if (world != null) {
+            forEachSection(bound, (minX, minY, minZ, maxX, maxY, maxZ) -> units.add(() -> {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        for (int x = minX; x <= maxX; x++) {
+                            Block block = world.getBlockAt(x, y, z);
+                            if (replace != null && !replace.contains(block.getType())) continue;
+                            block.setBlockData(data, physics);
+                        }
+                    }
+                }
+            }));
+        }
+        return new BlockChangeTask(bound.getId(), units).preloadChunks(bound);
+    }
+
+    /**
+     * Split a bound into the chunk sections it overlaps
+     * <p>Sections are visited chunk by chunk, bottom to top</p>
+     *
+     * @param bound    Bound to split
+     * @param consumer Consumer of each section, clamped to the bound and the build height of its world
+     */
+    public static void forEachSection(Bound bound, SectionConsumer consumer) {
+        World world = bound.getWorld();
+        if (world == null) return;
+        forEachSection(world, bound.getLesserX(), bound.getLesserY(), bound.getLesserZ(),
+                bound.getGreaterX(), bound.getGreaterY(), bound.getGreaterZ(), consumer);
+    }
+
+    /**
+     * Split a cuboid into the chunk sections it overlaps
+     * <p>Sections are visited chunk by chunk, bottom to top. Coords must be sorted.
+     * Sections outside the build height of the world are skipped.</p>
+     *
+     * @param world    World the cuboid is in
+     * @param minX     Min x coord
+     * @param minY     Min y coord
+     * @param minZ     Min z coord
+     * @param maxX     Max x coord
+     * @param maxY     Max y coord
+     * @param maxZ     Max z coord
+     * @param consumer Consumer of each section, clamped to the cuboid and the build height
+     */
+    public static void forEachSection(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, SectionConsumer consumer) {
+        minY = Math.max(minY, 0);
+        maxY = Math.min(maxY, world.getMaxHeight() - 1);
+        if (minY > maxY) return;
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                    consumer.accept(Math.max(minX, cx << 4), Math.max(minY, sy << 4), Math.max(minZ, cz << 4),
+                            Math.min(maxX, (cx << 4) + 15), Math.min(maxY, (sy << 4) + 15), Math.min(maxZ, (cz << 4) + 15));
+                }
+            }
+        }
+    }
+
+    /**
+     * Consumer of a chunk section within a bound
+     * <p>All coords are inclusive world coords</p>
+     */
+    @FunctionalInterface
+    public interface SectionConsumer {
+
+        void accept(int minX, int minY, int minZ, int maxX, int maxY, int maxZ);
+
+    }
+
+    /**
+     * Get the task currently changing blocks in a bound
+     *
+     * @param bound Bound to check
+     * @return Running task, or null if no task is running
+     */
+    public static BlockChangeTask getTask(Bound bound) {
+        return RUNNING_TASKS.get(bound.getId());
+    }
+
+    /**
+     * Cancel all running tasks
+     * <p>This is used when the plugin disables</p>
+     */
+    public static void cancelAll() {
+        for (BlockChangeTask task : RUNNING_TASKS.values().toArray(new BlockChangeTask[0])) {
+            task.cancel();
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+package tk.shanebee.bee.elements.bound.util;
+
+import ch.njol.skript.Skript;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Load all chunks of a {@link Bound} without blocking the main thread
+ * <p>On Paper, chunks are loaded asynchronously. Otherwise chunks are loaded on the main thread
+ * spread over multiple ticks within the tick budget. Loaded chunks are held with plugin chunk tickets
+ * until the returned {@link Ticket} is released.</p>
+ */
+public class BoundChunkLoader {
+
+    private static final boolean HAS_ASYNC = Skript.methodExists(World.class, "getChunkAtAsync", int.class, int.class);
+    private static final boolean HAS_TICKETS = Skript.methodExists(World.class, "addPluginChunkTicket", int.class, int.class, Plugin.class);
+    // Amount of tickets held per chunk, a plugin can only hold 1 ticket per chunk
+    private static final Map<UUID, Map<Long, Integer>> TICKETS = new HashMap<>();
+
+    /**
+     * Load all chunks overlapping a bound
+     * <p>This must be called on the main thread, the returned future completes on the main thread.</p>
+     *
+     * @param bound Bound to load chunks for
+     * @return Future with a ticket holding the chunks loaded, release it once done with the chunks
+     */
+    public static CompletableFuture<Ticket> load(Bound bound) {
+        return load(bound.getWorld(), bound.getLesserX(), bound.getLesserZ(), bound.getGreaterX(), bound.getGreaterZ());
+    }
+
+    /**
+     * Load all chunks overlapping an area
+     * <p>This must be called on the main thread, the returned future completes on the main thread.
+     * Corners do not need to be sorted.</p>
+     *
+     * @param world World of area
+     * @param x1    Block x coord of 1st corner
+     * @param z1    Block z coord of 1st corner
+     * @param x2    Block x coord of 2nd corner
+     * @param z2    Block z coord of 2nd corner
+     * @return Future with a ticket holding the chunks loaded, release it once done with the chunks
+     */
+    public static CompletableFuture<Ticket> load(World world, int x1, int z1, int x2, int z2) {
+        if (world == null) {
+            return CompletableFuture.completedFuture(new Ticket(null));
+        }
+        List<Long> chunks = new ArrayList<>();
+        int minX = Math.min(x1, x2) >> 4;
+        int minZ = Math.min(z1, z2) >> 4;
+        int maxX = Math.max(x1, x2) >> 4;
+        int maxZ = Math.max(z1, z2) >> 4;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                chunks.add(getKey(cx, cz));
+            }
+        }
+        return load(world, chunks);
+    }
+
+    /**
+     * Load specific chunks
+     * <p>This must be called on the main thread, the returned future completes on the main thread.</p>
+     *
+     * @param world  World of chunks
+     * @param chunks Keys of chunks to load, as (chunkX &lt;&lt; 32) | (chunkZ &amp; 0xFFFFFFFF)
+     * @return Future with a ticket holding the chunks loaded, release it once done with the chunks
+     */
+    public static CompletableFuture<Ticket> load(World world, Collection<Long> chunks) {
+        if (world == null) {
+            return CompletableFuture.completedFuture(new Ticket(null));
+        }
+        Ticket ticket = new Ticket(world);
+
+        // Chunks which are already loaded are held right away
+        Deque<Long> unloaded = new ArrayDeque<>();
+        for (long key : chunks) {
+            if (world.isChunkLoaded(getX(key), getZ(key))) {
+                ticket.hold(key);
+            } else {
+                unloaded.add(key);
+            }
+        }
+        if (unloaded.isEmpty()) {
+            return CompletableFuture.completedFuture(ticket);
+        }
+
+        CompletableFuture<Ticket> future = new CompletableFuture<>();
+        if (HAS_ASYNC) {
+            List<CompletableFuture<Chunk>> loads = new ArrayList<>(unloaded.size());
+            for (long key : unloaded) {
+                // Paper completes these on the main thread
+                loads.add(world.getChunkAtAsync(getX(key), getZ(key)).thenApply(chunk -> {
+                    ticket.hold(key);
+                    return chunk;
+                }));
+            }
+            CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).whenComplete((v, ex) -> {
+                if (ex != null) {
+                    ticket.release();
+                    future.completeExceptionally(ex);
+                } else {
+                    future.complete(ticket);
+                }
+            });
+        } else {
+            long budget = SkBee.getPlugin().getPluginConfig().BOUND_TICK_BUDGET * 1000000L;
+            new BukkitRunnable() {
+                @Override
+                public void run() {
+                    if (ticket.released) {
+                        cancel();
+                        return;
+                    }
+                    long end = System.nanoTime() + budget;
+                    // Always load at least one chunk so loading can not stall
+                    do {
+                        Long key = unloaded.poll();
+                        if (key == null) break;
+                        world.getChunkAt(getX(key), getZ(key));
+                        ticket.hold(key);
+                    } while (System.nanoTime() < end);
+                    if (unloaded.isEmpty()) {
+                        cancel();
+                        future.complete(ticket);
+                    }
+                }
+            }.runTaskTimer(SkBee.getPlugin(), 0, 1);
+        }
+        return future;
+    }
+
+    private static void acquire(World world, long key) {
+        Map<Long, Integer> tickets = TICKETS.computeIfAbsent(world.getUID(), k -> new HashMap<>());
+        if (tickets.merge(key, 1, Integer::sum) == 1 && HAS_TICKETS) {
+            world.addPluginChunkTicket(getX(key), getZ(key), SkBee.getPlugin());
+        }
+    }
+
+    private static void release(World world, long key) {
+        Map<Long, Integer> tickets = TICKETS.get(world.getUID());
+        if (tickets == null) return;
+        Integer count = tickets.get(key);
+        if (count == null) return;
+        if (count > 1) {
+            tickets.put(key, count - 1);
+            return;
+        }
+        tickets.remove(key);
+        if (tickets.isEmpty()) TICKETS.remove(world.getUID());
+        if (HAS_TICKETS) {
+            world.removePluginChunkTicket(getX(key), getZ(key), SkBee.getPlugin());
+        }
+    }
+
+    /**
+     * Release all chunks held by bound operations
+     * <p>This is used when the plugin disables</p>
+     */
+    public static void releaseAll() {
+        if (HAS_TICKETS) {
+            for (UUID uuid : TICKETS.keySet()) {
+                World world = Bukkit.getWorld(uuid);
+                if (world != null) {
+                    world.removePluginChunkTickets(SkBee.getPlugin());
+                }
+            }
+        }
+        TICKETS.clear();
+    }
+
+    private static long getKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int getX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int getZ(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Chunks held loaded for a bound operation
+     */
+    public static class Ticket {
+
+        private final World world;
+        private final List<Long> chunks = new ArrayList<>();
+        private boolean released = false;
+
+        private Ticket(World world) {
+            this.world = world;
+        }
+
+        private void hold(long key) {
+            // Chunks finishing loading after release are not held
+            if (released) return;
+            chunks.add(key);
+            acquire(world, key);
+        }
+
+        /**
+         * Release the chunks held by this ticket
+         * <p>Chunks may unload once no other operation is holding them.
+         * This must be called on the main thread, releasing more than once does nothing.</p>
+         */
+        public void release() {
+            if (released) return;
+            released = true;
+            for (long key : chunks) {
+                BoundChunkLoader.release(world, key);
+            }
+            chunks.clear();
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+package tk.shanebee.bee.elements.bound.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.event.EntityEnterBoundEvent;
+import tk.shanebee.bee.api.event.EntityExitBoundEvent;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks non-player entities entering and exiting a bound
+ * <p>Non-player entities do not call move events, so tracked bounds are sampled on an interval.
+ * Only the loaded chunks around the edges of a bound are sampled for new entities, entities already
+ * inside the bound are checked directly. An entity that appears deep inside a bound
+ * (ex: spawned in the middle, or falling in through the top) is picked up once it nears an edge.</p>
+ */
+public class BoundEntityTracker {
+
+    // Width in blocks of the edge band sampled for entities, inside and outside the bound
+    private static final int EDGE = 16;
+    private static final Map<String, BoundEntityTracker> TRACKERS = new HashMap<>();
+    private static BukkitTask task = null;
+
+    private final Bound bound;
+    private Map<UUID, Entity> inside = new HashMap<>();
+
+    private BoundEntityTracker(Bound bound) {
+        this.bound = bound;
+    }
+
+    /**
+     * Start tracking entities in a bound
+     * <p>If the bound is already tracked, nothing happens</p>
+     *
+     * @param bound Bound to track
+     */
+    public static void start(Bound bound) {
+        BoundEntityTracker tracker = TRACKERS.get(bound.getId());
+        if (tracker != null && tracker.bound == bound) return;
+        TRACKERS.put(bound.getId(), new BoundEntityTracker(bound));
+        if (task == null) {
+            SkBee plugin = SkBee.getPlugin();
+            int interval = plugin.getPluginConfig().BOUND_ENTITY_TRACK_INTERVAL;
+            task = Bukkit.getScheduler().runTaskTimer(plugin, BoundEntityTracker::sampleAll, interval, interval);
+        }
+    }
+
+    /**
+     * Stop tracking entities in a bound
+     *
+     * @param bound Bound to stop tracking
+     */
+    public static void stop(Bound bound) {
+        BoundEntityTracker tracker = TRACKERS.get(bound.getId());
+        if (tracker != null && tracker.bound == bound) {
+            TRACKERS.remove(bound.getId());
+        }
+    }
+
+    /**
+     * Check if entities are tracked in a bound
+     *
+     * @param bound Bound to check
+     * @return True if entities are tracked in this bound
+     */
+    public static boolean isTracking(Bound bound) {
+        BoundEntityTracker tracker = TRACKERS.get(bound.getId());
+        return tracker != null && tracker.bound == bound;
+    }
+
+    /**
+     * Get the tracked entities currently within a bound
+     * <p>This is the result of the last sample, no entities are checked</p>
+     *
+     * @param bound Bound to get entities from
+     * @return Unmodifiable collection of entities, empty if the bound is not tracked
+     */
+    public static Collection<Entity> getEntities(Bound bound) {
+        BoundEntityTracker tracker = TRACKERS.get(bound.getId());
+        if (tracker == null || tracker.bound != bound) return Collections.emptyList();
+        return Collections.unmodifiableCollection(tracker.inside.values());
+    }
+
+    /**
+     * Stop tracking entities in all bounds
+     */
+    public static void stopAll() {
+        TRACKERS.clear();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static void sampleAll() {
+        SkBee plugin = SkBee.getPlugin();
+        for (BoundEntityTracker tracker : new ArrayList<>(TRACKERS.values())) {
+            // Bound may have been deleted or replaced since tracking started
+            if (plugin.getBoundConfig().getBoundFromID(tracker.bound.getId()) != tracker.bound) {
+                TRACKERS.remove(tracker.bound.getId(), tracker);
+                continue;
+            }
+            tracker.sample();
+        }
+        if (TRACKERS.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void sample() {
+        World world = bound.getWorld();
+        if (world == null) {
+            inside.clear();
+            return;
+        }
+        // Setters do not sort the corners
+        int minX = Math.min(bound.getLesserX(), bound.getGreaterX());
+        int minZ = Math.min(bound.getLesserZ(), bound.getGreaterZ());
+        int maxX = Math.max(bound.getLesserX(), bound.getGreaterX());
+        int maxZ = Math.max(bound.getLesserZ(), bound.getGreaterZ());
+
+        int outerMinX = (minX - EDGE) >> 4;
+        int outerMinZ = (minZ - EDGE) >> 4;
+        int outerMaxX = (maxX + EDGE) >> 4;
+        int outerMaxZ = (maxZ + EDGE) >> 4;
+        // Chunks fully within the interior (further than EDGE from every edge) are skipped
+        int innerMinX = (minX + EDGE + 15) >> 4;
+        int innerMinZ = (minZ + EDGE + 15) >> 4;
+        int innerMaxX = ((maxX - EDGE + 1) >> 4) - 1;
+        int innerMaxZ = ((maxZ - EDGE + 1) >> 4) - 1;
+        boolean hasInterior = innerMinX <= innerMaxX && innerMinZ <= innerMaxZ;
+
+        Map<UUID, Entity> current = new HashMap<>();
+        for (int cx = outerMinX; cx <= outerMaxX; cx++) {
+            if (hasInterior && cx >= innerMinX && cx <= innerMaxX) {
+                for (int cz = outerMinZ; cz < innerMinZ; cz++) {
+                    sampleChunk(world, cx, cz, current);
+                }
+                for (int cz = innerMaxZ + 1; cz <= outerMaxZ; cz++) {
+                    sampleChunk(world, cx, cz, current);
+                }
+            } else {
+                for (int cz = outerMinZ; cz <= outerMaxZ; cz++) {
+                    sampleChunk(world, cx, cz, current);
+                }
+            }
+        }
+        // Entities already inside may be in the interior, which was not sampled
+        for (Map.Entry<UUID, Entity> entry : inside.entrySet()) {
+            Entity entity = entry.getValue();
+            if (!current.containsKey(entry.getKey()) && entity.isValid() && bound.isInRegion(entity)) {
+                current.put(entry.getKey(), entity);
+            }
+        }
+
+        List<Entity> entered = new ArrayList<>();
+        List<Entity> exited = new ArrayList<>();
+        for (Map.Entry<UUID, Entity> entry : current.entrySet()) {
+            if (!inside.containsKey(entry.getKey())) {
+                entered.add(entry.getValue());
+            }
+        }
+        for (Map.Entry<UUID, Entity> entry : inside.entrySet()) {
+            Entity entity = entry.getValue();
+            // Entities removed from the world (died, despawned, unloaded) silently leave the bound
+            if (!current.containsKey(entry.getKey()) && entity.isValid()) {
+                exited.add(entity);
+            }
+        }
+        this.inside = current;
+
+        for (Entity entity : entered) {
+            Bukkit.getPluginManager().callEvent(new EntityEnterBoundEvent(bound, entity));
+        }
+        for (Entity entity : exited) {
+            Bukkit.getPluginManager().callEvent(new EntityExitBoundEvent(bound, entity));
+        }
+    }
+
+    private void sampleChunk(World world, int cx, int cz, Map<UUID, Entity> current) {
+        if (!world.isChunkLoaded(cx, cz)) return;
+        for (Entity entity : world.getChunkAt(cx, cz).getEntities()) {
+            // Players are handled by their move events
+            if (entity instanceof Player) continue;
+            if (bound.isInRegion(entity)) {
+                current.put(entity.getUniqueId(), entity);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+package tk.shanebee.bee.elements.bound.util;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import tk.shanebee.bee.elements.bound.objects.Bound;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scan the blocks of a {@link Bound} off the main thread
+ * <p>Chunks of the bound are first loaded without blocking (see {@link BoundChunkLoader}),
+ * then {@link ChunkSnapshot ChunkSnapshots} of each chunk are taken on the main thread,
+ * and each snapshot is scanned in parallel on a worker pool.</p>
+ */
+public class BoundScanner {
+
+    private static ExecutorService executor;
+
+    /**
+     * Scans the part of a chunk snapshot that is within a bound
+     *
+     * @param <R> Result of scanning one chunk
+     */
+    @FunctionalInterface
+    public interface ChunkScanner<R> {
+
+        /**
+         * Scan a chunk snapshot
+         * <p>X/Z coords are relative to the chunk (0-15), Y coords are world coords. All are inclusive.</p>
+         *
+         * @param snapshot Snapshot to scan
+         * @param minX     Min chunk x coord
+         * @param minY     Min y coord
+         * @param minZ     Min chunk z coord
+         * @param maxX     Max chunk x coord
+         * @param maxY     Max y coord
+         * @param maxZ     Max chunk z coord
+         * @return Result of this chunk
+         */
+        R scan(ChunkSnapshot snapshot, int minX, int minY, int minZ, int maxX, int maxY, int maxZ);
+
+    }
+
+    /**
+     * Scan all chunks within a bound
+     * <p>This must be called on the main thread, the returned future completes on a worker thread.
+     * Y coords are clamped to the build height of the world, scanners are never given coords outside of it.</p>
+     *
+     * @param bound   Bound to scan
+     * @param scanner Scanner to run on each chunk
+     * @param <R>     Result of scanning one chunk
+     * @return Future with the results of each chunk
+     */
+    public static <R> CompletableFuture<List<R>> scan(Bound bound, ChunkScanner<R> scanner) {
+        World world = bound.getWorld();
+        if (world == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        int minX = bound.getLesserX(), minY = Math.max(bound.getLesserY(), 0), minZ = bound.getLesserZ();
+        int maxX = bound.getGreaterX(), maxY = Math.min(bound.getGreaterY(), world.getMaxHeight() - 1), maxZ = bound.getGreaterZ();
+        if (minY > maxY) {
+            // Bound is entirely above or below the world
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        // Chunks only need to stay loaded until the snapshots are taken
+        return BoundChunkLoader.load(world, minX, minZ, maxX, maxZ).thenCompose(ticket -> {
+            try {
+                return scan(world, minX, minY, minZ, maxX, maxY, maxZ, scanner);
+            } finally {
+                ticket.release();
+            }
+        });
+    }
+
+    private static <R> CompletableFuture<List<R>> scan(World world, int minX, int minY, int minZ,
+                                                       int maxX, int maxY, int maxZ, ChunkScanner<R> scanner) {
+        List<CompletableFuture<R>> futures = new ArrayList<>();
+        ExecutorService executor = getExecutor();
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                ChunkSnapshot snapshot = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+                int baseX = cx << 4;
+                int baseZ = cz << 4;
+                int sx = Math.max(minX, baseX) - baseX;
+                int ex = Math.min(maxX, baseX + 15) - baseX;
+                int sz = Math.max(minZ, baseZ) - baseZ;
+                int ez = Math.min(maxZ, baseZ + 15) - baseZ;
+                futures.add(CompletableFuture.supplyAsync(() ->
+                        scanner.scan(snapshot, sx, minY, sz, ex, maxY, ez), executor));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<R> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Find the locations of all blocks of certain materials within a bound
+     * <p>This must be called on the main thread, the returned future completes on a worker thread.</p>
+     *
+     * @param bound     Bound to search
+     * @param materials Materials to search for
+     * @return Future with the locations of all matching blocks
+     */
+    public static CompletableFuture<List<Location>> findBlocks(Bound bound, Set<Material> materials) {
+        World world = bound.getWorld();
+        return scan(bound, (snapshot, minX, minY, minZ, maxX, maxY, maxZ) -> {
+            List<Location> locations = new ArrayList<>();
+            int baseX = snapshot.getX() << 4;
+            int baseZ = snapshot.getZ() << 4;
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        if (materials.contains(snapshot.getBlockType(x, y, z))) {
+                            locations.add(new Location(world, baseX + x, y, baseZ + z));
+                        }
+                    }
+                }
+            }
+            return locations;
+        }).thenApply(results -> {
+            List<Location> locations = new ArrayList<>();
+            results.forEach(locations::addAll);
+            return locations;
+        });
+    }
+
+    /**
+     * Count the blocks of each material within a bound
+     * <p>This must be called on the main thread, the returned future completes on a worker thread.</p>
+     *
+     * @param bound Bound to count blocks in
+     * @return Future with the amount of blocks of each material found in the bound
+     */
+    public static CompletableFuture<Map<Material, Long>> countMaterials(Bound bound) {
+        Material[] materials = Material.values();
+        return scan(bound, (snapshot, minX, minY, minZ, maxX, maxY, maxZ) -> {
+            long[] counts = new long[materials.length];
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        counts[snapshot.getBlockType(x, y, z).ordinal()]++;
+                    }
+                }
+            }
+            return counts;
+        }).thenApply(results -> {
+            long[] total = new long[materials.length];
+            for (long[] counts : results) {
+                for (int i = 0; i < counts.length; i++) {
+                    total[i] += counts[i];
+                }
+            }
+            Map<Material, Long> counts = new EnumMap<>(Material.class);
+            for (int i = 0; i < total.length; i++) {
+                if (total[i] > 0) {
+                    counts.put(materials[i], total[i]);
+                }
+            }
+            return counts;
+        });
+    }
+
+    /**
+     * Count the blocks of each block data within a bound
+     * <p>This must be called on the main thread, the returned future completes on a worker thread.</p>
+     *
+     * @param bound Bound to count blocks in
+     * @return Future with the amount of blocks of each block data found in the bound
+     */
+    public static CompletableFuture<Map<BlockData, Long>> countBlockData(Bound bound) {
+        return scan(bound, (snapshot, minX, minY, minZ, maxX, maxY, maxZ) -> {
+            Map<BlockData, long[]> counts = new HashMap<>();
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        counts.computeIfAbsent(snapshot.getBlockData(x, y, z), k -> new long[1])[0]++;
+                    }
+                }
+            }
+            return counts;
+        }).thenApply(results -> {
+            Map<BlockData, Long> counts = new HashMap<>();
+            for (Map<BlockData, long[]> chunkCounts : results) {
+                chunkCounts.forEach((data, count) -> counts.merge(data, count[0], Long::sum));
+            }
+            return counts;
+        });
+    }
+
+    /**
+     * Get the worker pool used for scanning
+     *
+     * @return Worker pool
+     */
+    public static synchronized ExecutorService getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "SkBee-BoundScanner-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Shutdown the worker pool
+     * <p>This is used when the plugin disables</p>
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package tk.shanebee.bee.elements.nbt.effects;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.ItemType;
+import ch.njol.skript.classes.Changer.ChangeMode;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
+import ch.njol.skript.util.slot.Slot;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+import de.tr7zw.changeme.nbtapi.NBTCompound;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.NotNull;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.NBTApi;
+import tk.shanebee.bee.api.NBTApi.ObjectType;
+import tk.shanebee.bee.api.NBTApi.TagPath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Name("NBT - Get/Set Multiple Tags")
+@Description({"Get or set multiple tags of an entity, block, item, slot or NBT compound at once. ",
+        "The NBT of the object is only fetched once, rather than once per tag, and when setting, all tags are written back in one go. ",
+        "When getting, the result is stored in a list variable indexed by tag, list tags are stored as a nested list. ",
+        "When setting, each value is set to the tag at the same position. Nested tags use a semi colon as a delimiter."})
+@Examples({"get nbt tags \"Health\", \"Pos\" and \"Motion\" of target entity and store the result in {_tags::*}",
+        "send \"Health: %{_tags::Health}%, Y: %{_tags::Pos::2}%\"",
+        "set nbt tags \"Invulnerable\", \"NoAI\" and \"CustomNameVisible\" of target entity to 1, 1 and 1",
+        "set nbt tags \"tag;Damage\" and \"tag;Unbreakable\" of player's tool to 10 and 1"})
+@Since("1.6.0")
+public class EffNBTTags extends Effect {
+
+    private static final NBTApi NBT_API;
+
+    static {
+        Skript.registerEffect(EffNBTTags.class,
+                "get nbt tags %strings% of %entity/block/itemtype/slot/nbtcompound% and store (them|the result) in %objects%",
+                "set nbt tags %strings% of %entity/block/itemtype/slot/nbtcompound% to %objects%");
+        NBT_API = SkBee.getPlugin().getNbtApi();
+    }
+
+    private Expression<String> tags;
+    private Expression<Object> object;
+    private Expression<?> values;
+    private boolean set;
+
+    @SuppressWarnings({"unchecked", "null"})
+    @Override
+    public boolean init(Expression<?> @NotNull [] exprs, int matchedPattern, @NotNull Kleenean isDelayed, @NotNull ParseResult parseResult) {
+        this.tags = (Expression<String>) exprs[0];
+        this.object = (Expression<Object>) exprs[1];
+        this.values = exprs[2];
+        this.set = matchedPattern == 1;
+        if (!set && (!(values instanceof Variable) || !((Variable<?>) values).isList())) {
+            Skript.error("The result of getting nbt tags can only be stored in a list variable, ex: {_tags::*}");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected void execute(@NotNull Event event) {
+        Object object = this.object.getSingle(event);
+        if (object == null) return;
+        String[] tags = this.tags.getArray(event);
+        if (set) {
+            Object[] values = this.values.getArray(event);
+            Object[][] tagValues = new Object[values.length][];
+            for (int i = 0; i < values.length; i++) {
+                tagValues[i] = new Object[]{values[i]};
+            }
+            if (object instanceof NBTCompound) {
+                // Set the tags on a copy and merge it once, compounds may be live views of an item/entity
+                NBTCompound compound = (NBTCompound) object;
+                NBTCompound copy = NBTApi.copyNBT(compound);
+                for (int i = 0; i < tags.length && i < tagValues.length; i++) {
+                    NBT_API.setTag(tags[i], copy, tagValues[i]);
+                }
+                compound.mergeCompound(copy);
+            } else {
+                ObjectType objectType = getObjectType(object);
+                if (objectType != null) {
+                    NBT_API.setTags(object, objectType, tags, tagValues);
+                }
+            }
+            return;
+        }
+
+        Variable<?> variable = (Variable<?>) this.values;
+        variable.change(event, null, ChangeMode.DELETE);
+        Object[] values;
+        if (object instanceof NBTCompound) {
+            TagPath[] paths = new TagPath[tags.length];
+            for (int i = 0; i < tags.length; i++) {
+                paths[i] = NBTApi.compileTagPath(tags[i]);
+            }
+            values = NBT_API.getTags(paths, (NBTCompound) object);
+        } else {
+            ObjectType objectType = getObjectType(object);
+            if (objectType == null) return;
+            values = NBT_API.getTags(object, objectType, tags);
+        }
+        if (values == null) return;
+
+        String name = variable.getName().toString(event);
+        // Strip the trailing '*' of the list name
+        String prefix = name.substring(0, name.length() - 1);
+        boolean local = variable.isLocal();
+        for (int i = 0; i < tags.length; i++) {
+            Object value = values[i];
+            if (value == null) continue;
+            if (value instanceof ArrayList) {
+                List<?> list = (List<?>) value;
+                for (int j = 0; j < list.size(); j++) {
+                    Variables.setVariable(prefix + tags[i] + Variable.SEPARATOR + (j + 1), copy(list.get(j)), event, local);
+                }
+            } else {
+                Variables.setVariable(prefix + tags[i], copy(value), event, local);
+            }
+        }
+    }
+
+    private Object copy(Object value) {
+        // Compounds are live views, copy them so changing the stored tag does not change the original
+        return value instanceof NBTCompound ? NBTApi.copyNBT((NBTCompound) value) : value;
+    }
+
+    private ObjectType getObjectType(Object object) {
+        if (object instanceof Slot) {
+            return ObjectType.SLOT;
+        } else if (object instanceof ItemType) {
+            return ObjectType.ITEM_TYPE;
+        } else if (object instanceof Entity) {
+            return ObjectType.ENTITY;
+        } else if (object instanceof Block) {
+            return ObjectType.BLOCK;
+        }
+        return null;
+    }
+
+    @Override
+    public @NotNull String toString(Event e, boolean d) {
+        if (set) {
+            return "set nbt tags " + tags.toString(e, d) + " of " + object.toString(e, d) + " to " + values.toString(e, d);
+        }
+        return "get nbt tags " + tags.toString(e, d) + " of " + object.toString(e, d) + " and store the result in " + values.toString(e, d);
+    }
+
+}
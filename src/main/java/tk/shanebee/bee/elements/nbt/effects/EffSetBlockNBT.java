@@ -20,6 +20,9 @@ import org.jetbrains.annotations.NotNull;
 import tk.shanebee.bee.SkBee;
 import tk.shanebee.bee.api.NBTApi;
 import tk.shanebee.bee.api.NBTApi.ObjectType;
+import tk.shanebee.bee.api.util.Util;
+
+import javax.annotation.Nullable;
 
 @Name("NBT - Set Block with NBT")
 @Description("Set a block at a location to a block with NBT. BlockData is also supported when using MC 1.13+ and Skript 2.5+")
@@ -49,6 +52,8 @@ public class EffSetBlockNBT extends Effect {
     private Expression<Location> locations;
     private Expression<Object> type;
     private Expression<Object> nbtObject;
+    @Nullable
+    private NBTCompound literalNBT;
 
 
     @SuppressWarnings({"unchecked", "null"})
@@ -57,13 +62,17 @@ public class EffSetBlockNBT extends Effect {
         type = (Expression<Object>) exprs[2];
         locations = Direction.combine((Expression<? extends Direction>) exprs[0], (Expression<? extends Location>) exprs[1]);
         nbtObject = (Expression<Object>) exprs[3];
+        String literal = Util.getLiteralString(nbtObject);
+        if (literal != null) {
+            literalNBT = NBTApi.parseNBT(literal);
+            return literalNBT != null;
+        }
         return true;
     }
 
     @Override
     public void execute(final @NotNull Event event) {
-        Object nbtObject = this.nbtObject.getSingle(event);
-        String value = nbtObject instanceof NBTCompound ? nbtObject.toString() : ((String) nbtObject);
+        NBTCompound value = literalNBT != null ? literalNBT : NBTApi.getNBTCompound(this.nbtObject.getSingle(event));
         if (value == null) return;
         if (BLOCK_DATA) {
             Object typeObject = type.getSingle(event);
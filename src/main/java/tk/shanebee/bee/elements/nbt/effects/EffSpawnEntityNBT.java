@@ -22,6 +22,7 @@ import org.jetbrains.annotations.NotNull;
 import tk.shanebee.bee.SkBee;
 import tk.shanebee.bee.api.NBTApi;
 import tk.shanebee.bee.api.NBTApi.ObjectType;
+import tk.shanebee.bee.api.util.Util;
 
 import javax.annotation.Nullable;
 
@@ -50,6 +51,8 @@ public class EffSpawnEntityNBT extends Effect {
     private Expression<EntityType> types;
     private Expression<Object> nbt;
     @Nullable
+    private NBTCompound literalNBT;
+    @Nullable
     private Expression<Number> amount;
 
     @SuppressWarnings({"unchecked", "null"})
@@ -59,13 +62,18 @@ public class EffSpawnEntityNBT extends Effect {
         types = (Expression<EntityType>) exprs[matchedPattern];
         locations = Direction.combine((Expression<? extends Direction>) exprs[1 + matchedPattern], (Expression<? extends Location>) exprs[2 + matchedPattern]);
         nbt = (Expression<Object>) exprs[3 + matchedPattern];
+        String literal = Util.getLiteralString(nbt);
+        if (literal != null) {
+            literalNBT = NBTApi.parseNBT(literal);
+            return literalNBT != null;
+        }
         return true;
     }
 
     @Override
     public void execute(final @NotNull Event event) {
-        Object nbtObject = this.nbt.getSingle(event);
-        String value = nbtObject instanceof NBTCompound ? nbtObject.toString() : (String) nbtObject;
+        NBTCompound value = literalNBT != null ? literalNBT : NBTApi.getNBTCompound(this.nbt.getSingle(event));
+        if (value == null) return;
         final Number a = amount != null ? amount.getSingle(event) : 1;
         if (a == null)
             return;
@@ -86,7 +94,7 @@ public class EffSpawnEntityNBT extends Effect {
                 " " + locations.toString(e, debug) + " " + nbt.toString(e, debug);
     }
 
-    private <T extends Entity> Entity spawn(Location loc, Class<T> type, String nbt) {
+    private <T extends Entity> Entity spawn(Location loc, Class<T> type, NBTCompound nbt) {
         if (HAS_CONSUMER) {
             return loc.getWorld().spawn(loc, type, ent -> NBT_API.addNBT(ent, nbt, ObjectType.ENTITY));
         }
@@ -16,6 +16,7 @@ import org.bukkit.event.Event;
 import tk.shanebee.bee.SkBee;
 import tk.shanebee.bee.api.NBTApi;
 import tk.shanebee.bee.api.NBTApi.ObjectType;
+import tk.shanebee.bee.api.util.Util;
 
 import javax.annotation.Nullable;
 
@@ -36,23 +37,28 @@ public class ExprItemWithNBT extends PropertyExpression<ItemType, ItemType> {
 
     @SuppressWarnings("null")
     private Expression<Object> nbt;
+    @Nullable
+    private NBTCompound literalNBT;
 
     @SuppressWarnings({"unchecked", "null"})
     @Override
     public boolean init(Expression<?>[] exprs, int i, Kleenean kleenean, SkriptParser.ParseResult parseResult) {
         setExpr((Expression<ItemType>) exprs[0]);
         nbt = (Expression<Object>) exprs[1];
+        String literal = Util.getLiteralString(nbt);
+        if (literal != null) {
+            literalNBT = NBTApi.parseNBT(literal);
+            return literalNBT != null;
+        }
         return true;
     }
 
     @Override
     protected ItemType[] get(Event e, ItemType[] source) {
-        Object object = this.nbt.getSingle(e);
-        String nbt = object instanceof NBTCompound ? object.toString() : ((String) object);
-        if (!NBTApi.validateNBT(nbt)) return null;
+        NBTCompound nbt = literalNBT != null ? literalNBT : NBTApi.getNBTCompound(this.nbt.getSingle(e));
+        if (nbt == null) return null;
         return get(source, item -> {
-            if (nbt != null)
-                NBT_API.addNBT(item, nbt, ObjectType.ITEM_TYPE);
+            NBT_API.addNBT(item, nbt, ObjectType.ITEM_TYPE);
             return item;
         });
     }
@@ -92,9 +92,7 @@ public class ExprNbtCompound extends PropertyExpression<Object, NBTCompound> {
                         compound = new NBTContainer(fileNBT);
                     }
                 } else {
-                    if (NBTApi.validateNBT(((String) object))) {
-                        compound = new NBTContainer((String) object);
-                    }
+                    compound = NBTApi.parseNBT((String) object);
                 }
             }
             if (compound != null) {
@@ -88,13 +88,6 @@ public class ExprObjectNBT extends SimplePropertyExpression<Object, Object> {
 
         Object nbtObject = delta != null ? delta[0] : null;
 
-        String value = "{}";
-        if (nbtObject != null) {
-            value = nbtObject instanceof NBTCompound ? nbtObject.toString() : nbtObject instanceof String ? (String) nbtObject : "{}";
-        }
-        if (!NBTApi.validateNBT(value)) {
-            return;
-        }
         ObjectType objectType = null;
         if (object instanceof Slot) {
             objectType = ObjectType.SLOT;
@@ -109,14 +102,23 @@ public class ExprObjectNBT extends SimplePropertyExpression<Object, Object> {
         } else if (object instanceof String) {
             objectType = ObjectType.FILE;
         }
+        if (objectType == null) return;
+
+        // Strings are passed on as is, the API caches parsed strings so they are not parsed again
+        NBTCompound compound = nbtObject instanceof NBTCompound ? (NBTCompound) nbtObject : null;
+        String value = nbtObject instanceof String ? (String) nbtObject : "{}";
         switch (mode) {
             case ADD:
-                if (objectType != null)
+                if (compound != null)
+                    NBT_API.addNBT(object, compound, objectType);
+                else
                     NBT_API.addNBT(object, value, objectType);
                 break;
             case SET:
             case RESET:
-                if (objectType != null)
+                if (compound != null)
+                    NBT_API.setNBT(object, compound, objectType);
+                else
                     NBT_API.setNBT(object, value, objectType);
                 break;
             default:
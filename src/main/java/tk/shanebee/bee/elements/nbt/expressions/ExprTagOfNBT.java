@@ -14,15 +14,16 @@ import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
 import ch.njol.util.coll.CollectionUtils;
 import de.tr7zw.changeme.nbtapi.NBTCompound;
-import de.tr7zw.changeme.nbtapi.NBTContainer;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.NotNull;
 import tk.shanebee.bee.SkBee;
 import tk.shanebee.bee.api.NBTApi;
+import tk.shanebee.bee.api.NBTApi.TagPath;
 import tk.shanebee.bee.api.util.Util;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.List;
 
 @Name("NBT - Tag")
 @Description({"Returns the value of the specified tag of the specified NBT. Also supports getting nested tags using a semi colon as a delimiter. ",
@@ -54,28 +55,52 @@ public class ExprTagOfNBT extends SimpleExpression<Object> {
 
     private Expression<String> tag;
     private Expression<Object> nbt;
+    @Nullable
+    private TagPath literalPath;
 
     @SuppressWarnings("unchecked")
     @Override
     public boolean init(Expression<?> @NotNull [] exprs, int matchedPattern, @NotNull Kleenean isDelayed, @NotNull ParseResult parser) {
         this.tag = (Expression<String>) exprs[0];
         this.nbt = (Expression<Object>) exprs[1];
+        String literal = Util.getLiteralString(tag);
+        if (literal != null) {
+            this.literalPath = NBTApi.compileTagPath(literal);
+        }
         return true;
     }
 
     @Override
     @Nullable
     protected Object[] get(@NotNull Event e) {
-        String t = tag.getSingle(e);
+        TagPath path = literalPath;
+        if (path == null) {
+            String t = tag.getSingle(e);
+            if (t == null) return null;
+            path = NBTApi.compileTagPath(t);
+        }
         Object object = nbt.getSingle(e);
-        String n = object instanceof NBTCompound ? object.toString() : (String) object;
-        assert t != null;
-        if (t.contains(";")) {
-            return getNested(t, n);
+        NBTCompound compound = object instanceof NBTCompound ? (NBTCompound) object : NBTApi.parseNBT((String) object);
+        if (compound == null) return null;
+
+        Object nbt = NBT_API.getTag(path, compound);
+        if (nbt == null) {
+            if (DEBUG) {
+                Util.skriptError("Invalid tag \"&b" + path + "&7\" in &b" + compound);
+            }
+            return null;
         }
-        Object nbt = NBT_API.getTag(t, n);
-        if (nbt instanceof ArrayList) {
-            return ((ArrayList<?>) nbt).toArray();
+        // Compounds are live views, copy them so changing the returned tag does not change the original
+        if (nbt instanceof NBTCompound) {
+            return new Object[]{NBTApi.copyNBT((NBTCompound) nbt)};
+        } else if (nbt instanceof ArrayList) {
+            List<?> list = (List<?>) nbt;
+            Object[] values = new Object[list.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object value = list.get(i);
+                values[i] = value instanceof NBTCompound ? NBTApi.copyNBT((NBTCompound) value) : value;
+            }
+            return values;
         }
         return new Object[]{nbt};
     }
@@ -121,24 +146,4 @@ public class ExprTagOfNBT extends SimpleExpression<Object> {
         return Object.class;
     }
 
-    private Object[] getNested(String tag, String nbt) {
-        if (nbt == null) return null;
-        String[] split = tag.split(";");
-        Object nbtNew = nbt;
-        for (String s : split) {
-            NBTContainer container = new NBTContainer(nbtNew.toString());
-            nbtNew = NBT_API.getTag(s, container.toString()); // TODO api for this
-            if (nbtNew == null) {
-                if (DEBUG) {
-                    Util.skriptError("Invalid tag \"&b" + s + "&7\" in &b" + container.toString());
-                }
-                return null;
-            }
-        }
-        if (nbtNew instanceof ArrayList) {
-            return ((ArrayList<?>) nbtNew).toArray();
-        }
-        return new Object[]{nbtNew};
-    }
-
 }
@@ -11,11 +11,14 @@ import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.util.Kleenean;
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.event.Event;
+import tk.shanebee.bee.SkBee;
+import tk.shanebee.bee.api.util.CuboidBlockIterator;
+import tk.shanebee.bee.api.util.Util;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 @Name("Block Cuboid")
@@ -44,11 +47,32 @@ public class ExprBlockCuboid extends SimpleExpression<Block> {
 
     @Override
     protected Block[] get(Event e) {
+        Iterator<Block> iterator = iterator(e);
+        if (iterator == null) return null;
+        List<Block> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list.toArray(new Block[0]);
+    }
+
+    @Override
+    public Iterator<Block> iterator(Event e) {
         Location from = this.from != null ? this.from.getSingle(e) : null;
         Location to = this.to != null ? this.to.getSingle(e) : null;
         if (to == null || from == null) return null;
-        ArrayList<Block> list = new ArrayList<>(getBlocks(from, to));
-        return list.toArray(new Block[0]);
+
+        int x1 = from.getBlockX();
+        int y1 = from.getBlockY();
+        int z1 = from.getBlockZ();
+        int x2 = to.getBlockX();
+        int y2 = to.getBlockY();
+        int z2 = to.getBlockZ();
+        long max = SkBee.getPlugin().getPluginConfig().SETTINGS_MAX_BLOCK_VOLUME;
+        long volume = CuboidBlockIterator.getVolume(x1, y1, z1, x2, y2, z2);
+        if (max > 0 && volume > max) {
+            Util.skriptError("Cuboid has &b" + volume + "&c blocks which exceeds the max block volume of &b" + max);
+            return null;
+        }
+        return new CuboidBlockIterator(from.getWorld(), x1, y1, z1, x2, y2, z2);
     }
 
     @Override
@@ -66,56 +90,4 @@ public class ExprBlockCuboid extends SimpleExpression<Block> {
         return "cuboid blocks within " + from.toString(e, d) + " and " + to.toString(e, d);
     }
 
-    private List<Block> getBlocks(Location loc1, Location loc2) {
-
-        World w = loc1.getWorld();
-        List<Block> blocks = new ArrayList<>();
-
-        int x1 = loc1.getBlockX();
-        int y1 = loc1.getBlockY();
-        int z1 = loc1.getBlockZ();
-
-        int x2 = loc2.getBlockX();
-        int y2 = loc2.getBlockY();
-        int z2 = loc2.getBlockZ();
-
-        int xMin, yMin, zMin;
-        int xMax, yMax, zMax;
-        int x, y, z;
-
-        if (x1 > x2) {
-            xMin = x2;
-            xMax = x1;
-        } else {
-            xMin = x1;
-            xMax = x2;
-        }
-
-        if (y1 > y2) {
-            yMin = y2;
-            yMax = y1;
-        } else {
-            yMin = y1;
-            yMax = y2;
-        }
-
-        if (z1 > z2) {
-            zMin = z2;
-            zMax = z1;
-        } else {
-            zMin = z1;
-            zMax = z2;
-        }
-
-        for (x = xMin; x <= xMax; x++) {
-            for (y = yMin; y <= yMax; y++) {
-                for (z = zMin; z <= zMax; z++) {
-                    Block b = new Location(w, x, y, z).getBlock();
-                    blocks.add(b);
-                }
-            }
-        }
-        return blocks;
-    }
-
 }